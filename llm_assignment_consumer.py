@@ -3,14 +3,18 @@
 LLM Assignment Consumer
 Consumes events from Kafka topic 'course-assignment-llm' and uses LLM
 (Cerebras Inference API) to determine if a faculty should be assigned a course.
+Answers are published to 'course-assignment-llm-result', where the backend
+applies them in batches.
 """
 
 import json
 import os
+import time
 import requests
 import logging
-from kafka import KafkaConsumer
-from typing import Dict, Any
+from kafka import KafkaConsumer, KafkaProducer
+from kafka.errors import KafkaError
+from typing import Dict, Any, List
 
 # Configure logging
 logging.basicConfig(
@@ -22,10 +26,15 @@ logger = logging.getLogger(__name__)
 # Configuration from environment variables
 KAFKA_BOOTSTRAP_SERVERS = os.getenv('KAFKA_BROKER', 'localhost:9094')
 KAFKA_TOPIC = 'course-assignment-llm'
+KAFKA_RESULT_TOPIC = 'course-assignment-llm-result'
 BACKEND_API_URL = os.getenv('BACKEND_API_URL', 'http://localhost:20001')
 CEREBRAS_API_URL = os.getenv('CEREBRAS_API_URL', 'https://api.cerebras.ai/v1/chat/completions')
 CEREBRAS_API_KEY = os.getenv('CEREBRAS_API_KEY', '')
 FACULTY_EXPERIENCE_API_URL = os.getenv('FACULTY_EXPERIENCE_API_URL', 'https://api.example.com/faculty/{faculty_id}/experience')
+# How long to wait for the broker to acknowledge a batch of results, and how long to back off
+# before processing a batch again after that failed
+RESULT_SEND_TIMEOUT_SECONDS = float(os.getenv('RESULT_SEND_TIMEOUT_SECONDS', '30'))
+RETRY_BACKOFF_SECONDS = float(os.getenv('RETRY_BACKOFF_SECONDS', '5'))
 
 
 def get_faculty_experience(faculty_id: str) -> Dict[str, Any]:
@@ -127,65 +136,88 @@ Respond with ONLY "YES" or "NO"."""
         return False
 
 
-def submit_llm_result(faculty_id: str, course_id: str, recommended: bool) -> bool:
+def submit_llm_result(producer: KafkaProducer, faculty_id: str, course_id: str, recommended: bool):
     """
-    Submit LLM result to backend API.
+    Publish LLM result for the backend. Sends are batched by the producer; the returned
+    future resolves once the broker has acknowledged the result, or fails.
+    """
+    payload = {
+        "facultyId": faculty_id,
+        "courseId": course_id,
+        "recommended": recommended
+    }
+    future = producer.send(KAFKA_RESULT_TOPIC, key=course_id, value=payload)
+    logger.info(f"Queued LLM result for faculty {faculty_id} and course {course_id}: {recommended}")
+    return future
+
+
+def await_results(producer: KafkaProducer, futures: List) -> bool:
+    """
+    Wait until the broker has acknowledged every queued result.
+    Returns False if any of them could not be published.
     """
     try:
-        url = f"{BACKEND_API_URL}/admin/assignments/llm-result"
-        payload = {
-            "facultyId": faculty_id,
-            "courseId": course_id,
-            "recommended": recommended
-        }
-        
-        response = requests.post(url, json=payload, timeout=10)
-        if response.status_code == 200:
-            logger.info(f"Successfully submitted LLM result for faculty {faculty_id} and course {course_id}")
-            return True
-        else:
-            logger.error(f"Failed to submit LLM result: {response.status_code} - {response.text}")
-            return False
-    except Exception as e:
-        logger.error(f"Error submitting LLM result: {e}")
+        producer.flush(timeout=RESULT_SEND_TIMEOUT_SECONDS)
+        for future in futures:
+            future.get(timeout=RESULT_SEND_TIMEOUT_SECONDS)
+    except KafkaError as e:
+        logger.error(f"Failed to publish LLM results: {e}")
         return False
+    return True
 
 
-def process_event(event_data: Dict[str, Any]) -> None:
+def process_event(producer: KafkaProducer, event_data: Dict[str, Any]) -> List:
     """
-    Process a single LLM assignment event.
+    Process one LLM assignment event: an unassigned course and its ranked candidates.
+    Candidates are asked in order until the LLM recommends one. Every answer is submitted,
+    including "no", so the backend can cache it and not send the same pair again.
+    Returns the futures of the submitted answers.
     """
+    futures = []
     try:
-        faculty_id = event_data.get("facultyId")
         course_id = event_data.get("courseId")
         term_id = event_data.get("termId")
-        preference_rank = event_data.get("preferenceRank")
-        
-        logger.info(f"Processing LLM assignment event: faculty={faculty_id}, course={course_id}, term={term_id}, rank={preference_rank}")
-        
-        # Get faculty experience
-        faculty_experience = get_faculty_experience(str(faculty_id))
-        
-        # Get course details
+        candidates = event_data.get("candidates")
+        if candidates is None:
+            # Older single-candidate event
+            candidates = [{
+                "facultyId": event_data.get("facultyId"),
+                "preferenceRank": event_data.get("preferenceRank")
+            }]
+
+        logger.info(f"Processing LLM assignment event: course={course_id}, term={term_id}, candidates={len(candidates)}")
+
+        # Course details are the same for every candidate
         course_details = get_course_details(str(course_id))
-        
-        # Call LLM
-        recommended = call_llm_for_assignment(faculty_experience, course_details)
-        
-        # Submit result to backend
-        submit_llm_result(str(faculty_id), str(course_id), recommended)
-        
+
+        for candidate in candidates:
+            faculty_id = candidate.get("facultyId")
+            logger.info(f"Asking LLM about faculty={faculty_id}, rank={candidate.get('preferenceRank')}")
+
+            faculty_experience = get_faculty_experience(str(faculty_id))
+            recommended = call_llm_for_assignment(faculty_experience, course_details)
+            futures.append(submit_llm_result(producer, str(faculty_id), str(course_id), recommended))
+            if recommended:
+                return futures
+
+        logger.info(f"LLM recommended no candidate for course {course_id}")
+
     except Exception as e:
         logger.error(f"Error processing event: {e}", exc_info=True)
+    return futures
 
 
 def main():
     """
-    Main consumer loop.
+    Main consumer loop. Offsets are committed by hand, per polled batch, and only once every
+    result of the batch has been acknowledged by the broker. If publishing fails, the batch is
+    processed again, so a result is never lost; it may be published twice, which the backend
+    tolerates (answers are cached per pair and links are only added once).
     """
     logger.info(f"Starting LLM Assignment Consumer")
     logger.info(f"Kafka broker: {KAFKA_BOOTSTRAP_SERVERS}")
     logger.info(f"Kafka topic: {KAFKA_TOPIC}")
+    logger.info(f"Kafka result topic: {KAFKA_RESULT_TOPIC}")
     logger.info(f"Backend API: {BACKEND_API_URL}")
     
     consumer = KafkaConsumer(
@@ -194,23 +226,47 @@ def main():
         value_deserializer=lambda m: json.loads(m.decode('utf-8')),
         group_id='llm-assignment-consumer-group',
         auto_offset_reset='earliest',
-        enable_auto_commit=True
+        enable_auto_commit=False
     )
     
+    producer = KafkaProducer(
+        bootstrap_servers=KAFKA_BOOTSTRAP_SERVERS,
+        key_serializer=lambda k: k.encode('utf-8'),
+        value_serializer=lambda v: json.dumps(v).encode('utf-8'),
+        linger_ms=50,
+        acks='all',
+        retries=5
+    )
+
     logger.info("Consumer started, waiting for messages...")
     
     try:
-        for message in consumer:
-            try:
-                event_data = message.value
-                process_event(event_data)
-            except Exception as e:
-                logger.error(f"Error processing message: {e}", exc_info=True)
+        while True:
+            batch = consumer.poll(timeout_ms=1000)
+            if not batch:
+                continue
+            futures = []
+            for records in batch.values():
+                for message in records:
+                    try:
+                        futures.extend(process_event(producer, message.value))
+                    except Exception as e:
+                        logger.error(f"Error processing message: {e}", exc_info=True)
+
+            if await_results(producer, futures):
+                consumer.commit()
+            else:
+                # Nothing was committed: rewind to the start of the batch and process it again
+                for partition, records in batch.items():
+                    consumer.seek(partition, records[0].offset)
+                time.sleep(RETRY_BACKOFF_SECONDS)
     except KeyboardInterrupt:
         logger.info("Consumer stopped by user")
     except Exception as e:
         logger.error(f"Consumer error: {e}", exc_info=True)
     finally:
+        producer.flush()
+        producer.close()
         consumer.close()
 
 
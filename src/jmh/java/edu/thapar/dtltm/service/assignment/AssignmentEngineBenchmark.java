@@ -0,0 +1,95 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// End-to-end engine cost (model compile + solve) on synthetic terms, per strategy and size.
+// Run with -prof gc (the jmh profile's default) to get allocation rate per op next to throughput.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AssignmentEngineBenchmark {
+  private static final long SEED = 20240601L;
+
+  private static final Map<String, AssignmentStrategy> STRATEGIES = Map.of(
+      GreedyAssignmentStrategy.NAME, new GreedyAssignmentStrategy(),
+      MinCostFlowAssignmentStrategy.NAME, new MinCostFlowAssignmentStrategy(),
+      LocalSearchAssignmentStrategy.NAME, new LocalSearchAssignmentStrategy());
+
+  @Param({"100", "1000", "10000"})
+  private int faculties;
+
+  @Param({GreedyAssignmentStrategy.NAME, MinCostFlowAssignmentStrategy.NAME, LocalSearchAssignmentStrategy.NAME})
+  private String strategy;
+
+  // 1 = one connected preference graph; more departments = independent components to solve in parallel
+  @Param({"1", "20"})
+  private int departments;
+
+  private TermSnapshot snapshot;
+  private AssignmentStrategy engine;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    snapshot = SyntheticTerms.generate(faculties, departments, SEED);
+    engine = STRATEGIES.get(strategy);
+  }
+
+  @Benchmark
+  public AssignmentPlan solve() {
+    return engine.solve(SolverModel.compile(snapshot), SolverContext.unbounded());
+  }
+
+  // Plan quality of one solve, reported as secondary results (·assigned, ·unassigned, ·averageRank).
+  // EVENTS counters are summed over iterations and forks, hence exactly one of each here.
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  @Fork(1)
+  public AssignmentPlan quality(Quality quality) {
+    AssignmentPlan plan = solve();
+    quality.record(plan);
+    return plan;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Quality {
+    public long assigned;
+    public long unassigned;
+    public double averageRank;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      assigned = 0;
+      unassigned = 0;
+      averageRank = 0;
+    }
+
+    void record(AssignmentPlan plan) {
+      List<AssignmentPlan.Assignment> assignments = plan.getAssignments();
+      assigned = assignments.size();
+      unassigned = plan.getUnassignedCourseIds().size();
+      averageRank = assignments.stream().mapToInt(AssignmentPlan.Assignment::getPreferenceRank).average().orElse(0);
+    }
+  }
+}
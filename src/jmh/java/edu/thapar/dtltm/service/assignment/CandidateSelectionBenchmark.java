@@ -0,0 +1,63 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Greedy candidate selection per course at growing fan-out (interested faculties per course):
+// packed keys (min-scan over longs) against the field-by-field comparison. One invocation is a
+// full greedy pass over a ~1000-course term, reported per course.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CandidateSelectionBenchmark {
+  private static final long SEED = 20240601L;
+  private static final int COURSES = 1000;
+
+  // With rank lists of ~5 courses, fan-out is about 5x this
+  @Param({"1", "10", "100"})
+  private int facultiesPerCourse;
+
+  @Param({"packed", "comparison"})
+  private String selection;
+
+  private SolverModel model;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    TermSnapshot snapshot = SyntheticTerms.generate(COURSES * facultiesPerCourse, 1, 1.0 / facultiesPerCourse, SEED);
+    model = SolverModel.compile(snapshot);
+    model.candidateKeys();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COURSES)
+  public SolverState greedyPass() {
+    boolean packed = "packed".equals(selection);
+    SolverState state = model.newState();
+    for (int c : model.courseOrder) {
+      int best = packed
+          ? GreedyAssignmentStrategy.findBestCandidate(model, state, c)
+          : GreedyAssignmentStrategy.findBestCandidateByComparison(model, state, c);
+      if (best >= 0) {
+        state.assign(c, best);
+      }
+    }
+    return state;
+  }
+}
@@ -0,0 +1,51 @@
+package edu.thapar.dtltm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// Scheduling runs the sweep of finished jobs (AssignmentJobService.evictExpired)
+@Configuration
+@EnableScheduling
+public class AssignmentJobConfig {
+
+  @Value("${dtltm.assignment.jobs.threads:2}")
+  private int threads;
+
+  @Value("${dtltm.assignment.jobs.queue-capacity:8}")
+  private int queueCapacity;
+
+  @Value("${dtltm.assignment.batch.parallelism:4}")
+  private int batchParallelism;
+
+  @Value("${dtltm.assignment.batch.queue-capacity:16}")
+  private int batchQueueCapacity;
+
+  // Bounded on both threads and queue: a full queue rejects the submission instead of piling up
+  @Bean
+  public ThreadPoolTaskExecutor assignmentJobExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("assignment-job-");
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    executor.initialize();
+    return executor;
+  }
+
+  // Solver threads shared by all batch runs; a batch never uses more of them than the parallelism
+  @Bean
+  public ThreadPoolTaskExecutor assignmentBatchExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(batchParallelism);
+    executor.setMaxPoolSize(batchParallelism);
+    executor.setQueueCapacity(batchQueueCapacity);
+    executor.setThreadNamePrefix("assignment-batch-");
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,21 @@
+package edu.thapar.dtltm.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import edu.thapar.dtltm.service.assignment.AssignmentLimits;
+
+@Configuration
+@EnableConfigurationProperties(AssignmentLimitsProperties.class)
+public class AssignmentLimitsConfig {
+
+  // Compiled once at startup; every run, manual edit and LLM result shares it
+  @Bean
+  public AssignmentLimits assignmentLimits(AssignmentLimitsProperties properties) {
+    return AssignmentLimits.compile(properties.getMaxCourses(), properties.getRules().stream()
+        .map(rule -> new AssignmentLimits.Rule(rule.getMinSeniority(), rule.getMaxSeniority(),
+            rule.getMaxCourses(), rule.getMaxHoursPerWeek()))
+        .toList());
+  }
+}
@@ -0,0 +1,49 @@
+package edu.thapar.dtltm.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import edu.thapar.dtltm.service.assignment.AssignmentLimits;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+// dtltm.assignment.limits: course / hour limits per seniority tier, see AssignmentLimits
+@Data
+@Validated
+@ConfigurationProperties(prefix = "dtltm.assignment.limits")
+public class AssignmentLimitsProperties {
+  @NotNull
+  @Min(0)
+  @Max(AssignmentLimits.MAX_COURSES)
+  private Integer maxCourses = AssignmentLimits.DEFAULT_MAX_COURSES;
+
+  @Valid
+  private List<Rule> rules = new ArrayList<>();
+
+  @Data
+  public static class Rule {
+    @NotNull
+    @Min(1)
+    @Max(5)
+    private Integer minSeniority = 1;
+
+    @NotNull
+    @Min(1)
+    @Max(5)
+    private Integer maxSeniority = 5;
+
+    @Min(0)
+    @Max(AssignmentLimits.MAX_COURSES)
+    private Integer maxCourses;
+
+    @Min(0)
+    private Integer maxHoursPerWeek;
+  }
+}
@@ -4,15 +4,21 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
 @Configuration
 public class KafkaConfig {
@@ -20,12 +26,37 @@ public class KafkaConfig {
   @Value("${spring.kafka.bootstrap-servers}")
   private String bootstrapServers;
 
+  // Records sent within lingerMs of each other share a request, up to batchSize bytes per
+  // partition, compressed as one batch
+  @Value("${dtltm.kafka.producer.linger-ms:20}")
+  private int lingerMs;
+
+  @Value("${dtltm.kafka.producer.batch-size:65536}")
+  private int batchSize;
+
+  @Value("${dtltm.kafka.producer.compression-type:lz4}")
+  private String compressionType;
+
+  // A poll returns up to maxPollRecords results, but waits up to fetchMaxWaitMs for at least
+  // fetchMinBytes of them, so results arriving one by one still reach the listener in batches
+  @Value("${dtltm.kafka.llm-results.max-poll-records:500}")
+  private int maxPollRecords;
+
+  @Value("${dtltm.kafka.llm-results.fetch-min-bytes:16384}")
+  private int fetchMinBytes;
+
+  @Value("${dtltm.kafka.llm-results.fetch-max-wait-ms:500}")
+  private int fetchMaxWaitMs;
+
   @Bean
   public ProducerFactory<String, String> producerFactory() {
     Map<String, Object> configProps = new HashMap<>();
     configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
     configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
     configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+    configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+    configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
     return new DefaultKafkaProducerFactory<>(configProps);
   }
 
@@ -34,6 +65,31 @@ public class KafkaConfig {
     return new KafkaTemplate<>(producerFactory());
   }
 
+  @Bean
+  public ConsumerFactory<String, String> llmResultConsumerFactory() {
+    Map<String, Object> configProps = new HashMap<>();
+    configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+    configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+    configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+    return new DefaultKafkaConsumerFactory<>(configProps);
+  }
+
+  // Batch listener; offsets are committed once the listener returns, i.e. after the batch's
+  // transaction has committed. A failed batch is redelivered.
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, String> llmResultListenerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(llmResultConsumerFactory());
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+    return factory;
+  }
+
   @Bean
   public NewTopic userRegistration() {
     return TopicBuilder.name("user-registration").partitions(1).replicas(1).build();
@@ -43,4 +99,9 @@ public class KafkaConfig {
   public NewTopic courseAssignmentLLM() {
     return TopicBuilder.name("course-assignment-llm").partitions(1).replicas(1).build();
   }
+
+  @Bean
+  public NewTopic courseAssignmentLLMResult() {
+    return TopicBuilder.name("course-assignment-llm-result").partitions(1).replicas(1).build();
+  }
 }
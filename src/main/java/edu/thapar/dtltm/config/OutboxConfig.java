@@ -0,0 +1,10 @@
+package edu.thapar.dtltm.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Polls the outbox, see OutboxRelay
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+}
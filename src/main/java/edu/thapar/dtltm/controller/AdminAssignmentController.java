@@ -1,8 +1,16 @@
 package edu.thapar.dtltm.controller;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,16 +20,39 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import edu.thapar.dtltm.dto.AssignmentBatchRequest;
+import edu.thapar.dtltm.dto.AssignmentBatchResponse;
+import edu.thapar.dtltm.dto.AssignmentDeltaRequest;
+import edu.thapar.dtltm.dto.AssignmentDeltaResponse;
+import edu.thapar.dtltm.dto.AssignmentJobResponse;
 import edu.thapar.dtltm.dto.AssignmentRequest;
 import edu.thapar.dtltm.dto.AssignmentResponse;
+import edu.thapar.dtltm.dto.AssignmentSimulationRequest;
+import edu.thapar.dtltm.dto.AssignmentSimulationResponse;
+import edu.thapar.dtltm.dto.AssignmentStreamRecord;
 import edu.thapar.dtltm.dto.LLMResultRequest;
 import edu.thapar.dtltm.dto.UpdateAssignmentRequest;
 import edu.thapar.dtltm.exception.ForbiddenException;
+import edu.thapar.dtltm.mapper.AssignmentJobMapper;
+import edu.thapar.dtltm.mapper.AssignmentPlanMapper;
 import edu.thapar.dtltm.model.Course;
 import edu.thapar.dtltm.model.User;
+import edu.thapar.dtltm.repository.CourseRepository.CourseSummary;
+import edu.thapar.dtltm.service.AssignmentBatchService;
+import edu.thapar.dtltm.service.AssignmentJobService;
+import edu.thapar.dtltm.service.AssignmentRunService;
+import edu.thapar.dtltm.service.AssignmentSimulationService;
 import edu.thapar.dtltm.service.AssignmentService;
+import edu.thapar.dtltm.service.assignment.AppliedPlan;
+import edu.thapar.dtltm.service.assignment.AssignmentJob;
+import edu.thapar.dtltm.service.assignment.SolverContext;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -29,8 +60,18 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/admin/assignments")
 @RequiredArgsConstructor
 public class AdminAssignmentController {
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  // How close the run's plan is to optimal, see SolverContext.Optimality; omitted when not measured
+  private static final String OBJECTIVE_HEADER = "X-Assignment-Objective";
+  private static final String LOWER_BOUND_HEADER = "X-Assignment-Lower-Bound";
+  private static final String GAP_HEADER = "X-Assignment-Gap";
 
   private final AssignmentService assignmentService;
+  private final AssignmentJobService assignmentJobService;
+  private final AssignmentBatchService assignmentBatchService;
+  private final AssignmentSimulationService assignmentSimulationService;
+  private final AssignmentRunService assignmentRunService;
+  private final ObjectMapper objectMapper;
 
   private void checkAdmin(User user) {
     if (!"ADMIN".equals(user.getRole())) {
@@ -43,8 +84,66 @@ public class AdminAssignmentController {
       @AuthenticationPrincipal User user,
       @Valid @RequestBody AssignmentRequest request) {
     checkAdmin(user);
-    List<AssignmentResponse> responses = assignmentService.assignCoursesAutomatic(request.getTermId());
-    return ResponseEntity.ok(responses);
+    AppliedPlan applied = assignmentService.assign(
+        request.getTermId(), request.getStrategy(), request.timeBudget(), request.warmStart());
+    return withOptimality(ResponseEntity.ok(), applied.getOptimality())
+        .body(AssignmentPlanMapper.toDTOs(applied.getSnapshot(), applied.getPlan()));
+  }
+
+  @PostMapping("/batch")
+  public ResponseEntity<AssignmentBatchResponse> runBatchAssignment(
+      @AuthenticationPrincipal User user,
+      @Valid @RequestBody AssignmentBatchRequest request) {
+    checkAdmin(user);
+    AssignmentBatchResponse response = assignmentBatchService.run(
+        request.getTermIds(), request.getStrategy(), request.timeBudget(), request.getParallelism());
+    return ResponseEntity.ok(response);
+  }
+
+  @PostMapping("/simulate")
+  public ResponseEntity<AssignmentSimulationResponse> simulateAssignment(
+      @AuthenticationPrincipal User user,
+      @Valid @RequestBody AssignmentSimulationRequest request) {
+    checkAdmin(user);
+    AssignmentSimulationResponse response = assignmentSimulationService.simulate(
+        request.getTermId(), request.getStrategy(), request.timeBudget(), request.getScenarios());
+    return ResponseEntity.ok(response);
+  }
+
+  @PostMapping("/jobs")
+  public ResponseEntity<AssignmentJobResponse> submitAssignmentJob(
+      @AuthenticationPrincipal User user,
+      @Valid @RequestBody AssignmentRequest request) {
+    checkAdmin(user);
+    AssignmentJob job = assignmentJobService.submit(
+        request.getTermId(), request.getStrategy(), request.timeBudget(), request.warmStart());
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(AssignmentJobMapper.toDTO(job));
+  }
+
+  @GetMapping("/jobs/{jobId}")
+  public ResponseEntity<AssignmentJobResponse> getAssignmentJob(
+      @AuthenticationPrincipal User user,
+      @PathVariable UUID jobId) {
+    checkAdmin(user);
+    return ResponseEntity.ok(AssignmentJobMapper.toDTO(assignmentJobService.get(jobId)));
+  }
+
+  @DeleteMapping("/jobs/{jobId}")
+  public ResponseEntity<AssignmentJobResponse> cancelAssignmentJob(
+      @AuthenticationPrincipal User user,
+      @PathVariable UUID jobId) {
+    checkAdmin(user);
+    return ResponseEntity.ok(AssignmentJobMapper.toDTO(assignmentJobService.cancel(jobId)));
+  }
+
+  @PostMapping("/delta")
+  public ResponseEntity<AssignmentDeltaResponse> runIncrementalAssignment(
+      @AuthenticationPrincipal User user,
+      @Valid @RequestBody AssignmentDeltaRequest request) {
+    checkAdmin(user);
+    AssignmentDeltaResponse response = assignmentService.reassignIncremental(
+        request.getTermId(), request.getFacultyIds(), request.getCourseIds());
+    return ResponseEntity.ok(response);
   }
 
   @GetMapping("/term/{termId}")
@@ -52,8 +151,20 @@ public class AdminAssignmentController {
       @AuthenticationPrincipal User user,
       @PathVariable UUID termId) {
     checkAdmin(user);
-    List<AssignmentResponse> responses = assignmentService.assignCoursesAutomatic(termId);
-    return ResponseEntity.ok(responses);
+    AssignmentRunService.RunSummary run = assignmentRunService.getLatestRun(termId);
+    return withOptimality(ResponseEntity.ok(), run.getOptimality())
+        .body(assignmentRunService.getResponses(run.getId()));
+  }
+
+  // Same with Accept: application/x-ndjson, read from the stored run through a cursor. /run has
+  // no NDJSON form: it could not send a line before the run is solved.
+  @GetMapping(value = "/term/{termId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamAssignmentsByTerm(
+      @AuthenticationPrincipal User user,
+      @PathVariable UUID termId) {
+    checkAdmin(user);
+    AssignmentRunService.RunSummary run = assignmentRunService.getLatestRun(termId);
+    return ndjson(run.getOptimality(), sink -> assignmentRunService.streamRun(run.getId(), sink));
   }
 
   @PutMapping("/{facultyId}/courses")
@@ -88,13 +199,21 @@ public class AdminAssignmentController {
     return ResponseEntity.ok().build();
   }
 
+  // Paged when page or size is given; the total then comes in X-Total-Count
   @GetMapping("/unassigned/{termId}")
-  public ResponseEntity<List<Course>> getUnassignedCourses(
+  public ResponseEntity<List<CourseSummary>> getUnassignedCourses(
       @AuthenticationPrincipal User user,
-      @PathVariable UUID termId) {
+      @PathVariable UUID termId,
+      @RequestParam(required = false) Integer page,
+      @RequestParam(required = false) Integer size) {
     checkAdmin(user);
-    List<Course> courses = assignmentService.getUnassignedCourses(termId);
-    return ResponseEntity.ok(courses);
+    Page<CourseSummary> courses = assignmentService.getUnassignedCourses(termId, page, size);
+    if (courses.getPageable().isUnpaged()) {
+      return ResponseEntity.ok(courses.getContent());
+    }
+    return ResponseEntity.ok()
+        .header(TOTAL_COUNT_HEADER, String.valueOf(courses.getTotalElements()))
+        .body(courses.getContent());
   }
 
   @GetMapping("/faculty/{facultyId}/term/{termId}")
@@ -106,5 +225,59 @@ public class AdminAssignmentController {
     List<Course> courses = assignmentService.getFacultyAssignments(facultyId, termId);
     return ResponseEntity.ok(courses);
   }
-}
 
+  private static ResponseEntity.BodyBuilder withOptimality(ResponseEntity.BodyBuilder response,
+      SolverContext.Optimality optimality) {
+    if (optimality == null) {
+      return response;
+    }
+    return response
+        .header(OBJECTIVE_HEADER, String.valueOf(optimality.getObjective()))
+        .header(LOWER_BOUND_HEADER, String.valueOf(optimality.getLowerBound()))
+        .header(GAP_HEADER, String.valueOf(optimality.getGap()));
+  }
+
+  private ResponseEntity<StreamingResponseBody> ndjson(SolverContext.Optimality optimality,
+      Consumer<Consumer<AssignmentStreamRecord>> producer) {
+    ObjectWriter writer = objectMapper.writerFor(AssignmentStreamRecord.class);
+    StreamingResponseBody body = out -> {
+      NdjsonSink sink = new NdjsonSink(writer, out);
+      producer.accept(sink);
+      sink.flush();
+    };
+    return withOptimality(ResponseEntity.ok(), optimality).contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  // One JSON document per line through a fixed buffer, so memory stays flat however many
+  // records there are; the first record is flushed at once so the client sees it early
+  private static final class NdjsonSink implements Consumer<AssignmentStreamRecord> {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final ObjectWriter writer;
+    private final OutputStream out;
+    private boolean first = true;
+
+    NdjsonSink(ObjectWriter writer, OutputStream out) {
+      this.writer = writer;
+      this.out = new BufferedOutputStream(out, BUFFER_BYTES);
+    }
+
+    @Override
+    public void accept(AssignmentStreamRecord record) {
+      try {
+        out.write(writer.writeValueAsBytes(record));
+        out.write('\n');
+        if (first) {
+          out.flush();
+          first = false;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    void flush() throws IOException {
+      out.flush();
+    }
+  }
+}
@@ -11,7 +11,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 import edu.thapar.dtltm.dto.LoginResponseDTO;
 import edu.thapar.dtltm.dto.UserRequestDTO;
-import edu.thapar.dtltm.kafka.AuthServiceKafkaProducer;
 import edu.thapar.dtltm.model.User;
 import edu.thapar.dtltm.service.AuthService;
 import edu.thapar.dtltm.service.UserService;
@@ -24,12 +23,10 @@ public class AuthController {
 
   private final UserService userService;
   private final AuthService authService;
-  private final AuthServiceKafkaProducer kafkaProducer;
 
   @PostMapping("register")
   public ResponseEntity<?> register(@RequestBody UserRequestDTO userRequestDTO) {
     User user = userService.createUser(userRequestDTO);
-    kafkaProducer.sendUserVerificationEvent(user);
     return ResponseEntity.ok("User created with email " + user.getEmail());
   }
 
@@ -7,7 +7,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import edu.thapar.dtltm.dto.FacultyRequestDTO;
-import edu.thapar.dtltm.kafka.AuthServiceKafkaProducer;
 import edu.thapar.dtltm.model.Faculty;
 import edu.thapar.dtltm.service.FacultyService;
 import lombok.RequiredArgsConstructor;
@@ -18,12 +17,10 @@ import lombok.RequiredArgsConstructor;
 public class FacultyController {
   
   private final FacultyService facultyService;
-  private final AuthServiceKafkaProducer kafkaProducer;
 
   @PostMapping("create")
   public ResponseEntity<?> createFaculty(@RequestBody FacultyRequestDTO facultyDto) {
     Faculty faculty = facultyService.createFaculty(facultyDto);
-    kafkaProducer.sendUserVerificationEvent(faculty.getUser());
     return ResponseEntity.ok("Created faculty with email: " + faculty.getUser().getEmail());
   }
 
@@ -0,0 +1,30 @@
+package edu.thapar.dtltm.dto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class AssignmentBatchRequest {
+  @NotEmpty(message = "At least one term ID is required")
+  private List<@NotNull UUID> termIds;
+
+  // Same strategy for every term; defaults to greedy
+  private String strategy;
+
+  // Solver time budget per term
+  @Positive(message = "Time budget must be positive")
+  private Long timeBudgetMs;
+
+  // How many terms to solve at once; capped by dtltm.assignment.batch.parallelism
+  @Positive(message = "Parallelism must be positive")
+  private Integer parallelism;
+
+  public Duration timeBudget() {
+    return timeBudgetMs != null ? Duration.ofMillis(timeBudgetMs) : null;
+  }
+}
@@ -0,0 +1,48 @@
+package edu.thapar.dtltm.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import edu.thapar.dtltm.service.assignment.SolverContext;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssignmentBatchResponse {
+  private String strategy;
+  private Integer parallelism;
+  private Integer succeeded;
+  private Integer failed;
+  // Wall-clock time of each stage of the batch
+  private Long loadMs;
+  private Long solveMs;
+  private Long persistMs;
+  private Long elapsedMs;
+  // Sum of the per-term solve times; above solveMs when terms were solved concurrently
+  private Long totalSolveMs;
+  private List<TermSummary> terms;
+
+  public enum Status {
+    DONE, FAILED
+  }
+
+  @Data
+  @Builder
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class TermSummary {
+    private UUID termId;
+    private Status status;
+    private Integer assignedCount;
+    private Integer unassignedCount;
+    private Long solveMs;
+    private Long persistMs;
+    private SolverContext.Optimality optimality;
+    private String error;
+  }
+}
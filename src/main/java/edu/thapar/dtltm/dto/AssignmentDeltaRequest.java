@@ -0,0 +1,19 @@
+package edu.thapar.dtltm.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class AssignmentDeltaRequest {
+  @NotNull(message = "Term ID is required")
+  private UUID termId;
+
+  // Faculties whose preferences or limits changed since the last run
+  private List<UUID> facultyIds = new ArrayList<>();
+
+  // Courses whose hours or details changed since the last run
+  private List<UUID> courseIds = new ArrayList<>();
+}
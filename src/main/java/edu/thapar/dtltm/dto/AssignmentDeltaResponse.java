@@ -0,0 +1,32 @@
+package edu.thapar.dtltm.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssignmentDeltaResponse {
+  private UUID termId;
+  private List<Change> added;
+  private List<Change> removed;
+  private List<UUID> unassignedCourseIds;
+  private Long elapsedMs;
+
+  @Data
+  @Builder
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Change {
+    private UUID facultyId;
+    private String facultyName;
+    private UUID courseId;
+    private String courseCode;
+    private Integer preferenceRank;
+  }
+}
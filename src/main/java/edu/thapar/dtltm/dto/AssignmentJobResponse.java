@@ -0,0 +1,34 @@
+package edu.thapar.dtltm.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import edu.thapar.dtltm.service.assignment.AssignmentJob;
+import edu.thapar.dtltm.service.assignment.SolverContext;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssignmentJobResponse {
+  private UUID jobId;
+  private UUID termId;
+  private String strategy;
+  private AssignmentJob.Phase phase;
+  private Integer percentComplete;
+  private Instant submittedAt;
+  private Long elapsedMs;
+  private String error;
+  // Best objective over time while solving, for strategies that improve a plan (e.g. local-search)
+  private List<SolverContext.ObjectivePoint> objectiveTrajectory;
+  // Final objective against the term's lower bound, once solving has finished
+  private SolverContext.Optimality optimality;
+  // Only set once the job is DONE
+  private List<AssignmentResponse> result;
+
+}
@@ -1,12 +1,32 @@
 package edu.thapar.dtltm.dto;
 
+import java.time.Duration;
 import java.util.UUID;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 @Data
 public class AssignmentRequest {
   @NotNull(message = "Term ID is required")
   private UUID termId;
-}
 
+  // Name of an AssignmentStrategy bean, e.g. "greedy" or "min-cost-flow"; defaults to greedy
+  private String strategy;
+
+  // Optional solver time budget; strategies that can stop early return their best plan so far
+  @Positive(message = "Time budget must be positive")
+  private Long timeBudgetMs;
+
+  // Start from the previous term's assignments: pairs still valid this term are kept as they are
+  // and only the remaining courses are solved
+  private Boolean warmStart;
+
+  public Duration timeBudget() {
+    return timeBudgetMs != null ? Duration.ofMillis(timeBudgetMs) : null;
+  }
+
+  public boolean warmStart() {
+    return Boolean.TRUE.equals(warmStart);
+  }
+}
@@ -0,0 +1,23 @@
+package edu.thapar.dtltm.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+// One what-if: overrides applied on top of the term as it is now. No overrides = the term as is.
+@Data
+public class AssignmentScenario {
+  private String name;
+
+  // facultyId -> maxHoursPerWeek to assume instead of the stored one; 0 takes the faculty out
+  private Map<@NotNull UUID, @NotNull @PositiveOrZero(message = "Max hours must not be negative") Integer> maxHoursPerWeek =
+      new HashMap<>();
+
+  // Courses to assume are not offered
+  private List<@NotNull UUID> droppedCourseIds = new ArrayList<>();
+}
@@ -0,0 +1,32 @@
+package edu.thapar.dtltm.dto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class AssignmentSimulationRequest {
+  @NotNull(message = "Term ID is required")
+  private UUID termId;
+
+  // Same strategy for every scenario; defaults to greedy
+  private String strategy;
+
+  // Solver time budget per scenario
+  @Positive(message = "Time budget must be positive")
+  private Long timeBudgetMs;
+
+  @NotEmpty(message = "At least one scenario is required")
+  @Size(max = 50, message = "At most 50 scenarios per request")
+  private List<@NotNull @Valid AssignmentScenario> scenarios;
+
+  public Duration timeBudget() {
+    return timeBudgetMs != null ? Duration.ofMillis(timeBudgetMs) : null;
+  }
+}
@@ -0,0 +1,37 @@
+package edu.thapar.dtltm.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssignmentSimulationResponse {
+  private UUID termId;
+  private String strategy;
+  private Long elapsedMs;
+  // In request order
+  private List<ScenarioResult> scenarios;
+
+  @Data
+  @Builder
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class ScenarioResult {
+    private String name;
+    private Integer assignedCount;
+    private Integer unassignedCount;
+    // The simulated plan, same shape as the /run response
+    private List<AssignmentResponse> assignments;
+    // Difference to the assignment currently in course_faculty
+    private List<AssignmentDeltaResponse.Change> added;
+    private List<AssignmentDeltaResponse.Change> removed;
+    private List<UUID> unassignedCourseIds;
+    private Long solveMs;
+  }
+}
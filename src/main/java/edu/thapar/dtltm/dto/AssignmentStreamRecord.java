@@ -0,0 +1,35 @@
+package edu.thapar.dtltm.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of an application/x-ndjson assignment result: a single UNASSIGNED record for the
+// term first, then one FACULTY record per faculty. Unlike AssignmentResponse, the unassigned
+// courses are sent once instead of on every faculty.
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssignmentStreamRecord {
+  public enum Type {
+    UNASSIGNED, FACULTY
+  }
+
+  private Type type;
+  private UUID termId;
+
+  // UNASSIGNED only
+  private List<UUID> unassignedCourseIds;
+
+  // FACULTY only
+  private UUID facultyId;
+  private String facultyName;
+  private List<AssignmentResponse.AssignedCourse> assignedCourses;
+}
@@ -1,83 +1,75 @@
 package edu.thapar.dtltm.kafka;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import edu.thapar.dtltm.repository.OutboxJdbcRepository;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Message;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+// Writes to the outbox, in the caller's transaction; OutboxRelay sends to Kafka after commit
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AssignmentKafkaProducer {
 
-  private final KafkaTemplate<String, String> kafkaTemplate;
-  private final ObjectMapper objectMapper;
+  private final OutboxJdbcRepository outboxRepository;
+  private final ObjectWriter eventWriter;
   private static final String COURSE_ASSIGNMENT_LLM_TOPIC = "course-assignment-llm";
 
-  public void sendLLMAssignmentEvent(UUID facultyId, UUID courseId, UUID termId, Integer preferenceRank) {
-    try {
-      LLMAssignmentEvent event = new LLMAssignmentEvent(facultyId, courseId, termId, preferenceRank);
-      String eventJson = objectMapper.writeValueAsString(event);
-      kafkaTemplate.send(COURSE_ASSIGNMENT_LLM_TOPIC, facultyId.toString(), eventJson);
-      log.info("Published LLM assignment event for faculty {} and course {}", facultyId, courseId);
-    } catch (JsonProcessingException e) {
-      log.error("Failed to serialize LLM assignment event", e);
-      throw new RuntimeException("Failed to publish LLM assignment event", e);
-    }
+  public AssignmentKafkaProducer(OutboxJdbcRepository outboxRepository, ObjectMapper objectMapper) {
+    this.outboxRepository = outboxRepository;
+    this.eventWriter = objectMapper.writerFor(LLMCourseEvent.class);
   }
 
-  public static class LLMAssignmentEvent {
-    private UUID facultyId;
-    private UUID courseId;
-    private UUID termId;
-    private Integer preferenceRank;
-
-    public LLMAssignmentEvent() {
+  // One record per course, keyed by course
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void sendLLMCourseEvents(List<LLMCourseEvent> events) {
+    if (events.isEmpty()) {
+      return;
     }
-
-    public LLMAssignmentEvent(UUID facultyId, UUID courseId, UUID termId, Integer preferenceRank) {
-      this.facultyId = facultyId;
-      this.courseId = courseId;
-      this.termId = termId;
-      this.preferenceRank = preferenceRank;
-    }
-
-    public UUID getFacultyId() {
-      return facultyId;
-    }
-
-    public void setFacultyId(UUID facultyId) {
-      this.facultyId = facultyId;
-    }
-
-    public UUID getCourseId() {
-      return courseId;
-    }
-
-    public void setCourseId(UUID courseId) {
-      this.courseId = courseId;
-    }
-
-    public UUID getTermId() {
-      return termId;
-    }
-
-    public void setTermId(UUID termId) {
-      this.termId = termId;
+    List<Message> messages = new ArrayList<>(events.size());
+    for (LLMCourseEvent event : events) {
+      try {
+        messages.add(new Message(COURSE_ASSIGNMENT_LLM_TOPIC, event.getCourseId().toString(),
+            eventWriter.writeValueAsString(event)));
+      } catch (JsonProcessingException e) {
+        log.error("Failed to serialize LLM assignment event", e);
+        throw new RuntimeException("Failed to publish LLM assignment event", e);
+      }
     }
+    outboxRepository.append(messages);
+    log.info("Queued {} LLM assignment events for term {}", events.size(), events.get(0).getTermId());
+  }
 
-    public Integer getPreferenceRank() {
-      return preferenceRank;
-    }
+  // An unassigned course and everyone who ranked it, best candidate first
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class LLMCourseEvent {
+    private UUID termId;
+    private UUID courseId;
+    private List<Candidate> candidates;
+  }
 
-    public void setPreferenceRank(Integer preferenceRank) {
-      this.preferenceRank = preferenceRank;
-    }
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Candidate {
+    private UUID facultyId;
+    private Integer preferenceRank;
+    private Integer seniorityScore;
+    private Double rating;
   }
 }
-
@@ -1,19 +1,26 @@
 package edu.thapar.dtltm.kafka;
 
-import org.springframework.kafka.core.KafkaTemplate;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import edu.thapar.dtltm.model.User;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Message;
 import lombok.RequiredArgsConstructor;
 
+// Writes to the outbox, in the caller's transaction; OutboxRelay sends to Kafka after commit
 @Service
 @RequiredArgsConstructor
 public class AuthServiceKafkaProducer {
 
-  private final KafkaTemplate<String, String> emailVerificationTemplate;
+  private final OutboxJdbcRepository outboxRepository;
   private static final String EMAIL_VERIFICATION = "user-registration";
 
+  @Transactional(propagation = Propagation.MANDATORY)
   public void sendUserVerificationEvent(User user) {
-    emailVerificationTemplate.send(EMAIL_VERIFICATION, user.getId().toString(), user.getEmail());
+    outboxRepository.append(List.of(new Message(EMAIL_VERIFICATION, user.getId().toString(), user.getEmail())));
   }
 }
@@ -0,0 +1,55 @@
+package edu.thapar.dtltm.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import edu.thapar.dtltm.dto.LLMResultRequest;
+import edu.thapar.dtltm.service.AssignmentService;
+import lombok.extern.slf4j.Slf4j;
+
+// LLM answers published by the consumer script, a poll at a time: the whole batch is applied in
+// one transaction and its offsets are committed after it (see KafkaConfig). Records that are not
+// a complete result are logged and dropped, so they cannot hold up the rest.
+@Service
+@Slf4j
+public class LLMResultKafkaConsumer {
+  private static final String COURSE_ASSIGNMENT_LLM_RESULT_TOPIC = "course-assignment-llm-result";
+
+  private final AssignmentService assignmentService;
+  private final ObjectReader resultReader;
+
+  public LLMResultKafkaConsumer(AssignmentService assignmentService, ObjectMapper objectMapper) {
+    this.assignmentService = assignmentService;
+    this.resultReader = objectMapper.readerFor(LLMResultRequest.class);
+  }
+
+  @KafkaListener(
+      topics = COURSE_ASSIGNMENT_LLM_RESULT_TOPIC,
+      groupId = "dtltm-llm-results",
+      containerFactory = "llmResultListenerFactory")
+  public void onResults(List<String> payloads) {
+    List<LLMResultRequest> results = new ArrayList<>(payloads.size());
+    for (String payload : payloads) {
+      try {
+        LLMResultRequest result = resultReader.readValue(payload);
+        if (result.getFacultyId() == null || result.getCourseId() == null || result.getRecommended() == null) {
+          log.warn("Dropping incomplete LLM result: {}", payload);
+          continue;
+        }
+        results.add(result);
+      } catch (JsonProcessingException e) {
+        log.warn("Dropping unreadable LLM result: {}", payload, e);
+      }
+    }
+    if (!results.isEmpty()) {
+      assignmentService.processLLMResults(results);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package edu.thapar.dtltm.kafka;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.thapar.dtltm.repository.OutboxJdbcRepository;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Backlog;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Message;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Stored;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Moves outbox_events to Kafka. Each batch is claimed oldest first in a short transaction, sent
+// in that order with no transaction or connection held, and deleted in a second short
+// transaction once Kafka has acknowledged every record of it. A failed send releases the batch
+// for the next poll; a relay that dies mid-batch leaves a claim that expires after claimLease.
+// Delivery is at least once: a batch that fails halfway is sent again in full.
+// Batches follow each other while they come back full, so a backlog drains without waiting
+// for the next poll.
+@Component
+@Slf4j
+public class OutboxRelay {
+  private final KafkaTemplate<String, String> kafkaTemplate;
+  private final OutboxJdbcRepository outboxRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration sendTimeout;
+  // Outlasts a send that runs into sendTimeout, so a live relay's claim never expires under it
+  private final Duration claimLease;
+  private final Counter relayedEvents;
+  private final Timer batchTimer;
+  private final AtomicLong pending = new AtomicLong();
+  // Epoch millis of the oldest pending row, 0 when there is none
+  private final AtomicLong oldestMillis = new AtomicLong();
+
+  public OutboxRelay(KafkaTemplate<String, String> kafkaTemplate,
+      OutboxJdbcRepository outboxRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${dtltm.outbox.batch-size:1000}") int batchSize,
+      @Value("${dtltm.outbox.send-timeout:PT30S}") Duration sendTimeout) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.outboxRepository = outboxRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.sendTimeout = sendTimeout;
+    this.claimLease = sendTimeout.multipliedBy(2);
+    this.relayedEvents = Counter.builder("dtltm.outbox.relayed")
+        .description("Outbox events sent to Kafka")
+        .register(meterRegistry);
+    this.batchTimer = Timer.builder("dtltm.outbox.batch")
+        .description("Time to send one outbox batch and delete it")
+        .register(meterRegistry);
+    Gauge.builder("dtltm.outbox.pending", pending, AtomicLong::get)
+        .description("Outbox events not yet sent, as of the last poll")
+        .register(meterRegistry);
+    TimeGauge.builder("dtltm.outbox.lag", oldestMillis, TimeUnit.MILLISECONDS,
+            oldest -> oldest.get() == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest.get()))
+        .description("Age of the oldest outbox event not yet sent")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${dtltm.outbox.poll-interval:PT0.5S}")
+  public void relay() {
+    try {
+      int sent;
+      do {
+        sent = relayBatch();
+      } while (sent == batchSize);
+    } catch (RuntimeException e) {
+      log.warn("Outbox relay failed, retrying on the next poll", e);
+    }
+    try {
+      Backlog backlog = outboxRepository.backlog();
+      pending.set(backlog.getPending());
+      Instant oldest = backlog.getOldest();
+      oldestMillis.set(oldest != null ? oldest.toEpochMilli() : 0);
+    } catch (RuntimeException e) {
+      log.warn("Failed to read outbox backlog", e);
+    }
+  }
+
+  private int relayBatch() {
+    List<Stored> batch = transactionTemplate.execute(status -> claimBatch());
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+    long start = System.nanoTime();
+    try {
+      send(batch);
+    } catch (RuntimeException e) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.release(batch));
+      } catch (RuntimeException releaseFailure) {
+        e.addSuppressed(releaseFailure); // The claim expires on its own
+      }
+      throw e;
+    }
+    transactionTemplate.executeWithoutResult(status -> outboxRepository.delete(batch));
+    relayedEvents.increment(batch.size());
+    batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return batch.size();
+  }
+
+  // Empty while another relay holds the lock or still has a batch in flight
+  private List<Stored> claimBatch() {
+    if (!outboxRepository.tryLockForRelay() || outboxRepository.hasActiveClaim()) {
+      return List.of();
+    }
+    return outboxRepository.claimOldest(batchSize, claimLease);
+  }
+
+  private void send(List<Stored> batch) {
+    List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+    for (Stored stored : batch) {
+      Message message = stored.getMessage();
+      sends.add(kafkaTemplate.send(message.getTopic(), message.getKey(), message.getPayload()));
+    }
+    // Send now rather than after linger.ms; the batch is complete
+    kafkaTemplate.flush();
+    try {
+      CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+          .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while sending outbox batch", e);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new IllegalStateException("Failed to send outbox batch of " + batch.size() + " events", e);
+    }
+  }
+}
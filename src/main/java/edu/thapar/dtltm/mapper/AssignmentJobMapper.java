@@ -0,0 +1,24 @@
+package edu.thapar.dtltm.mapper;
+
+import java.util.List;
+
+import edu.thapar.dtltm.dto.AssignmentJobResponse;
+import edu.thapar.dtltm.service.assignment.AssignmentJob;
+
+public class AssignmentJobMapper {
+  public static AssignmentJobResponse toDTO(AssignmentJob job) {
+    return AssignmentJobResponse.builder()
+        .jobId(job.getId())
+        .termId(job.getTermId())
+        .strategy(job.getStrategy())
+        .phase(job.getPhase())
+        .percentComplete(job.percentComplete())
+        .submittedAt(job.getSubmittedAt())
+        .elapsedMs(job.elapsedMillis())
+        .error(job.getError())
+        .objectiveTrajectory(job.getContext() != null ? job.getContext().trajectory() : List.of())
+        .optimality(job.getContext() != null ? job.getContext().optimality() : null)
+        .result(job.getResult())
+        .build();
+  }
+}
@@ -0,0 +1,102 @@
+package edu.thapar.dtltm.mapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import edu.thapar.dtltm.dto.AssignmentDeltaResponse;
+import edu.thapar.dtltm.dto.AssignmentResponse;
+import edu.thapar.dtltm.dto.AssignmentStreamRecord;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+
+public class AssignmentPlanMapper {
+  // One response per faculty that had preferences, in snapshot order: the FACULTY records of
+  // forEachRecord, each with the term's unassigned courses
+  public static List<AssignmentResponse> toDTOs(TermSnapshot snapshot, AssignmentPlan plan) {
+    List<AssignmentResponse> responses = new ArrayList<>(snapshot.getFaculties().size());
+    forEachRecord(snapshot, plan, record -> {
+      if (record.getType() == AssignmentStreamRecord.Type.FACULTY) {
+        responses.add(AssignmentResponse.builder()
+            .facultyId(record.getFacultyId())
+            .facultyName(record.getFacultyName())
+            .assignedCourses(record.getAssignedCourses())
+            .unassignedCourseIds(plan.getUnassignedCourseIds())
+            .build());
+      }
+    });
+    return responses;
+  }
+
+  // The plan as stream records (see AssignmentStreamRecord), handed out one at a time so none are held
+  public static void forEachRecord(TermSnapshot snapshot, AssignmentPlan plan, Consumer<AssignmentStreamRecord> sink) {
+    sink.accept(AssignmentStreamRecord.builder()
+        .type(AssignmentStreamRecord.Type.UNASSIGNED)
+        .termId(snapshot.getTermId())
+        .unassignedCourseIds(plan.getUnassignedCourseIds())
+        .build());
+
+    Map<UUID, CourseInfo> coursesById = coursesById(snapshot);
+    Map<UUID, List<CourseInfo>> facultyAssignments = new HashMap<>();
+    for (AssignmentPlan.Assignment assignment : plan.getAssignments()) {
+      facultyAssignments.computeIfAbsent(assignment.getFacultyId(), k -> new ArrayList<>())
+          .add(coursesById.get(assignment.getCourseId()));
+    }
+    for (FacultyInfo faculty : snapshot.getFaculties()) {
+      sink.accept(AssignmentStreamRecord.builder()
+          .type(AssignmentStreamRecord.Type.FACULTY)
+          .termId(snapshot.getTermId())
+          .facultyId(faculty.getId())
+          .facultyName(faculty.getName())
+          .assignedCourses(facultyAssignments.getOrDefault(faculty.getId(), List.of()).stream()
+              .map(AssignmentPlanMapper::toAssignedCourse)
+              .toList())
+          .build());
+    }
+  }
+
+  private static AssignmentResponse.AssignedCourse toAssignedCourse(CourseInfo course) {
+    return AssignmentResponse.AssignedCourse.builder()
+        .courseId(course.getId())
+        .courseCode(course.getCode())
+        .courseName(course.getName())
+        .hoursRequiredPerWeek(course.getHoursRequiredPerWeek())
+        .build();
+  }
+
+  // Removed assignments may point at faculties / courses that left the term; their names stay null
+  public static List<AssignmentDeltaResponse.Change> toChanges(TermSnapshot snapshot,
+      List<AssignmentPlan.Assignment> assignments) {
+    Map<UUID, FacultyInfo> facultiesById = new HashMap<>();
+    for (FacultyInfo faculty : snapshot.getFaculties()) {
+      facultiesById.put(faculty.getId(), faculty);
+    }
+    Map<UUID, CourseInfo> coursesById = coursesById(snapshot);
+    return assignments.stream()
+        .map(a -> {
+          FacultyInfo faculty = facultiesById.get(a.getFacultyId());
+          CourseInfo course = coursesById.get(a.getCourseId());
+          return AssignmentDeltaResponse.Change.builder()
+              .facultyId(a.getFacultyId())
+              .facultyName(faculty != null ? faculty.getName() : null)
+              .courseId(a.getCourseId())
+              .courseCode(course != null ? course.getCode() : null)
+              .preferenceRank(a.getPreferenceRank())
+              .build();
+        })
+        .toList();
+  }
+
+  private static Map<UUID, CourseInfo> coursesById(TermSnapshot snapshot) {
+    Map<UUID, CourseInfo> coursesById = new HashMap<>();
+    for (CourseInfo course : snapshot.getCourses()) {
+      coursesById.put(course.getId(), course);
+    }
+    return coursesById;
+  }
+}
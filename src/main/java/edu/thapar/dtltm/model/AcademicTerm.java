@@ -44,6 +44,9 @@ public class AcademicTerm {
   @Column(nullable = false, length = 16)
   private Season season;
 
+  // In the order the sessions run within a year. WINTER is the session that starts in December,
+  // so it comes after FALL of the same year and before SPRING of the next.
+  // AssignmentRunRepository.findLatestBefore ranks seasons in this order.
   public enum Season {
     SPRING,
     SUMMER,
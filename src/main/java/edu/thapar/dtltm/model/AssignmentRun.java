@@ -0,0 +1,93 @@
+package edu.thapar.dtltm.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One finished assignment run of a term. Written once, never updated; the plan itself
+// lives in AssignmentRunRow so the latest run can be served without re-solving.
+@Entity
+@Immutable
+@Data
+@Table(
+  name = "assignment_runs",
+  indexes = @Index(name = "idx_assignment_runs_term_created", columnList = "term_id, created_at")
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AssignmentRun {
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private UUID id;
+
+  @NotNull
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "term_id", nullable = false)
+  private AcademicTerm term;
+
+  @NotNull
+  @Column(nullable = false, length = 32)
+  private String strategy;
+
+  @Column(nullable = false)
+  private Instant startedAt;
+
+  @Column(nullable = false)
+  private Long solveMillis;
+
+  @Column(nullable = false)
+  private Integer assignedCount;
+
+  @Column(nullable = false)
+  private Integer unassignedCount;
+
+  // Plan objective against the term's lower bound (see SolverModel.optimalityOf);
+  // null for runs that were not measured, e.g. incremental repairs
+  private Long objective;
+
+  private Long lowerBound;
+
+  private Double optimalityGap;
+
+  @Builder.Default
+  @ElementCollection(fetch = FetchType.LAZY)
+  @CollectionTable(
+    name = "assignment_run_unassigned_courses",
+    joinColumns = @JoinColumn(name = "run_id", nullable = false)
+  )
+  @OrderColumn(name = "course_index")
+  @Column(name = "course_id", nullable = false)
+  private List<UUID> unassignedCourseIds = new ArrayList<>();
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @PrePersist
+  void onCreate() {
+    this.createdAt = Instant.now();
+  }
+}
@@ -0,0 +1,63 @@
+package edu.thapar.dtltm.model;
+
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a run's plan: a faculty and one of their assigned courses, or a faculty with
+// no course at all (course columns null). Names and hours are copied, not joined, so a run
+// keeps showing what was decided even after faculties or courses are edited.
+@Entity
+@Immutable
+@Data
+@Table(
+  name = "assignment_run_rows",
+  indexes = @Index(name = "idx_assignment_run_rows_run", columnList = "run_id, row_index")
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AssignmentRunRow {
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private UUID id;
+
+  @NotNull
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "run_id", nullable = false)
+  private AssignmentRun run;
+
+  @Column(name = "row_index", nullable = false)
+  private Integer rowIndex;
+
+  @Column(nullable = false)
+  private UUID facultyId;
+
+  private String facultyName;
+
+  private UUID courseId;
+
+  private String courseCode;
+
+  private String courseName;
+
+  private Integer hoursRequiredPerWeek;
+
+  private Integer preferenceRank;
+}
@@ -9,10 +9,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -47,7 +49,12 @@ public class Course {
   @JoinTable(
     name = "course_faculty",
     joinColumns = @JoinColumn(name = "course_id", nullable = false),
-    inverseJoinColumns = @JoinColumn(name = "faculty_id", nullable = false)
+    inverseJoinColumns = @JoinColumn(name = "faculty_id", nullable = false),
+    uniqueConstraints = @UniqueConstraint(name = "uk_course_faculty", columnNames = {"course_id", "faculty_id"}),
+    indexes = {
+      @Index(name = "idx_course_faculty_faculty", columnList = "faculty_id"),
+      @Index(name = "idx_course_faculty_course", columnList = "course_id")
+    }
   )
   private List<Faculty> taughtBy;
 }
@@ -0,0 +1,59 @@
+package edu.thapar.dtltm.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The LLM's last answer on whether a faculty should teach a course, across runs and terms.
+// It holds only while both sides look the same as when it was asked: the versions are hashes
+// of the faculty profile and the course content at that time (see LLMDecisionService).
+@Entity
+@Data
+@Table(
+  name = "llm_decisions",
+  indexes = @Index(name = "idx_llm_decisions_course", columnList = "course_id")
+)
+@IdClass(LLMDecision.Key.class)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LLMDecision {
+  @Id
+  @Column(name = "faculty_id")
+  private UUID facultyId;
+
+  @Id
+  @Column(name = "course_id")
+  private UUID courseId;
+
+  @Column(nullable = false)
+  private Long facultyVersion;
+
+  @Column(nullable = false)
+  private Long courseVersion;
+
+  @Column(nullable = false)
+  private Boolean recommended;
+
+  @Column(nullable = false)
+  private Instant decidedAt;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Key implements Serializable {
+    private UUID facultyId;
+    private UUID courseId;
+  }
+}
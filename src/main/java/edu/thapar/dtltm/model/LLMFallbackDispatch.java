@@ -0,0 +1,49 @@
+package edu.thapar.dtltm.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The last LLM fallback event sent for a course of a term: a hash of its candidates and when it
+// went out. One row per (term, course), overwritten on every send; read and written in bulk by
+// LLMFallbackDispatchJdbcRepository.
+@Entity
+@Data
+@Table(name = "llm_fallback_dispatches")
+@IdClass(LLMFallbackDispatch.Key.class)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LLMFallbackDispatch {
+  @Id
+  @Column(name = "term_id")
+  private UUID termId;
+
+  @Id
+  @Column(name = "course_id")
+  private UUID courseId;
+
+  @Column(nullable = false)
+  private Long candidateHash;
+
+  @Column(nullable = false)
+  private Instant sentAt;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Key implements Serializable {
+    private UUID termId;
+    private UUID courseId;
+  }
+}
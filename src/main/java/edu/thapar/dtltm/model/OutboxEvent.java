@@ -0,0 +1,43 @@
+package edu.thapar.dtltm.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A Kafka record waiting to be sent, written in the same transaction as the change it reports.
+// OutboxRelay sends rows in id order and deletes them once Kafka has acknowledged them; reads
+// and writes go through OutboxJdbcRepository.
+@Entity
+@Data
+@Table(name = "outbox_events")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxEvent {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String topic;
+
+  private String messageKey;
+
+  @Column(nullable = false, columnDefinition = "text")
+  private String payload;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  // Set while a relay is sending the row, null otherwise
+  private Instant claimedUntil;
+}
@@ -1,5 +1,6 @@
 package edu.thapar.dtltm.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,6 +11,7 @@ import edu.thapar.dtltm.model.AcademicTerm.Season;
 
 public interface AcademicTermRepository extends JpaRepository<AcademicTerm, UUID> {
   Optional<AcademicTerm> findByYearAndSeason(Integer year, Season season);
+  long countByIdIn(Collection<UUID> ids);
 }
 
 
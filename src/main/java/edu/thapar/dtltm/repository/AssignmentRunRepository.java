@@ -0,0 +1,26 @@
+package edu.thapar.dtltm.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import edu.thapar.dtltm.model.AssignmentRun;
+
+public interface AssignmentRunRepository extends JpaRepository<AssignmentRun, UUID> {
+  // Served by idx_assignment_runs_term_created
+  Optional<AssignmentRun> findFirstByTerm_IdOrderByCreatedAtDesc(UUID termId);
+
+  // AcademicTerm.Season ordinal of t.season; must list the seasons in declaration order
+  String SEASON_RANK =
+      "case t.season when 'SPRING' then 0 when 'SUMMER' then 1 when 'FALL' then 2 when 'WINTER' then 3 end";
+
+  // The latest run of the closest term before (year, season ordinal) that has one
+  @Query(value = "select r.* from assignment_runs r join academic_terms t on t.id = r.term_id "
+      + "where t.year < :year or (t.year = :year and " + SEASON_RANK + " < :seasonRank) "
+      + "order by t.year desc, " + SEASON_RANK + " desc, r.created_at desc limit 1",
+      nativeQuery = true)
+  Optional<AssignmentRun> findLatestBefore(@Param("year") int year, @Param("seasonRank") int seasonRank);
+}
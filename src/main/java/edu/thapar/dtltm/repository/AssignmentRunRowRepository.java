@@ -0,0 +1,36 @@
+package edu.thapar.dtltm.repository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
+
+import edu.thapar.dtltm.model.AssignmentRunRow;
+
+public interface AssignmentRunRowRepository extends JpaRepository<AssignmentRunRow, UUID> {
+  List<AssignmentRunRow> findByRun_IdOrderByRowIndexAsc(UUID runId);
+
+  // Same rows as a forward-only cursor of plain projections: nothing is kept in the persistence
+  // context, so reading a run of any size holds only the rows of one fetch. Needs a transaction.
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("select r.facultyId as facultyId, r.facultyName as facultyName, r.courseId as courseId, "
+      + "r.courseCode as courseCode, r.courseName as courseName, r.hoursRequiredPerWeek as hoursRequiredPerWeek "
+      + "from AssignmentRunRow r where r.run.id = :runId order by r.rowIndex")
+  Stream<RowView> streamRowsOfRun(@Param("runId") UUID runId);
+
+  interface RowView {
+    UUID getFacultyId();
+    String getFacultyName();
+    UUID getCourseId();
+    String getCourseCode();
+    String getCourseName();
+    Integer getHoursRequiredPerWeek();
+  }
+}
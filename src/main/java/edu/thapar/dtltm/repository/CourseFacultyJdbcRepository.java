@@ -0,0 +1,107 @@
+package edu.thapar.dtltm.repository;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+
+// Bulk writes to the course_faculty join table, bypassing the Course.taughtBy bag:
+// Hibernate rewrites a whole bag (delete all + re-insert) whenever one element changes.
+// Callers must not hold Course entities whose taughtBy they later rely on in the same
+// transaction, since these statements do not touch the persistence context.
+@Repository
+public class CourseFacultyJdbcRepository {
+  // Returned instead of a row count when the driver does not report one
+  public static final int UNKNOWN_COUNT = -1;
+
+  // Relies on the unique (course_id, faculty_id) constraint declared on Course.taughtBy
+  private static final String INSERT_LINK =
+      "insert into course_faculty (course_id, faculty_id) values (?, ?) on conflict do nothing";
+  private static final String DELETE_LINK =
+      "delete from course_faculty where course_id = ? and faculty_id = ?";
+  private static final int BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Timer insertTimer;
+  private final Timer deleteTimer;
+  private final DistributionSummary insertedRows;
+  private final DistributionSummary deletedRows;
+
+  public CourseFacultyJdbcRepository(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.insertTimer = Timer.builder("dtltm.assignment.writeback")
+        .description("Time to write assignment links to course_faculty")
+        .tag("operation", "insert")
+        .register(meterRegistry);
+    this.deleteTimer = Timer.builder("dtltm.assignment.writeback")
+        .description("Time to write assignment links to course_faculty")
+        .tag("operation", "delete")
+        .register(meterRegistry);
+    this.insertedRows = DistributionSummary.builder("dtltm.assignment.writeback.rows")
+        .description("Rows changed per write-back")
+        .tag("operation", "insert")
+        .register(meterRegistry);
+    this.deletedRows = DistributionSummary.builder("dtltm.assignment.writeback.rows")
+        .description("Rows changed per write-back")
+        .tag("operation", "delete")
+        .register(meterRegistry);
+  }
+
+  // Skips links that already exist, also when a concurrent write-back inserts the same one.
+  // Returns how many links were actually inserted, or UNKNOWN_COUNT.
+  public int insertLinks(List<Link> links) {
+    if (links.isEmpty()) {
+      return 0;
+    }
+    int[][] counts = insertTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_LINK, links, BATCH_SIZE, (ps, link) -> {
+      ps.setObject(1, link.getCourseId());
+      ps.setObject(2, link.getFacultyId());
+    }));
+    return recordRows(insertedRows, counts);
+  }
+
+  // Returns how many links were actually deleted, or UNKNOWN_COUNT
+  public int deleteLinks(List<Link> links) {
+    if (links.isEmpty()) {
+      return 0;
+    }
+    int[][] counts = deleteTimer.record(() -> jdbcTemplate.batchUpdate(DELETE_LINK, links, BATCH_SIZE, (ps, link) -> {
+      ps.setObject(1, link.getCourseId());
+      ps.setObject(2, link.getFacultyId());
+    }));
+    return recordRows(deletedRows, counts);
+  }
+
+  // Drivers may report SUCCESS_NO_INFO instead of a row count (pgjdbc does with
+  // reWriteBatchedInserts); such a write-back is left out of the row metric
+  private static int recordRows(DistributionSummary rows, int[][] counts) {
+    int total = 0;
+    for (int[] batch : counts) {
+      for (int count : batch) {
+        if (count == Statement.SUCCESS_NO_INFO) {
+          return UNKNOWN_COUNT;
+        }
+        total += count;
+      }
+    }
+    rows.record(total);
+    return total;
+  }
+
+  public int deleteAllOfFaculty(UUID facultyId) {
+    return jdbcTemplate.update("delete from course_faculty where faculty_id = ?", facultyId);
+  }
+
+  @Value
+  public static class Link {
+    UUID courseId;
+    UUID facultyId;
+  }
+}
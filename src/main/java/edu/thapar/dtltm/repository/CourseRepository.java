@@ -1,9 +1,83 @@
 package edu.thapar.dtltm.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import edu.thapar.dtltm.model.Course;
+import edu.thapar.dtltm.model.PreferenceSet.Status;
 
 public interface CourseRepository extends JpaRepository<Course, UUID> {
   boolean existsByCode(String code);
+
+  @Query("select c from Course c where c.id in ("
+      + "select p.course.id from FacultyCoursePreference p "
+      + "where p.preferenceSet.term.id = :termId and p.preferenceSet.status = :status) "
+      + "order by c.code")
+  List<Course> findPreferredInTerm(@Param("termId") UUID termId, @Param("status") Status status);
+
+  @Query("select c.id as courseId, f.id as facultyId from Course c join c.taughtBy f where c.id in ("
+      + "select p.course.id from FacultyCoursePreference p "
+      + "where p.preferenceSet.term.id = :termId and p.preferenceSet.status = :status)")
+  List<CourseFacultyLink> findTeacherLinksInTerm(@Param("termId") UUID termId, @Param("status") Status status);
+
+  // Same two lookups over several terms; a course ranked in more than one term comes back once
+  @Query("select c from Course c where c.id in ("
+      + "select p.course.id from FacultyCoursePreference p "
+      + "where p.preferenceSet.term.id in :termIds and p.preferenceSet.status = :status) "
+      + "order by c.code")
+  List<Course> findPreferredInTerms(@Param("termIds") Collection<UUID> termIds, @Param("status") Status status);
+
+  @Query("select c.id as courseId, f.id as facultyId from Course c join c.taughtBy f where c.id in ("
+      + "select p.course.id from FacultyCoursePreference p "
+      + "where p.preferenceSet.term.id in :termIds and p.preferenceSet.status = :status)")
+  List<CourseFacultyLink> findTeacherLinksInTerms(
+      @Param("termIds") Collection<UUID> termIds, @Param("status") Status status);
+
+  // Courses ranked in a closed set of the term that no faculty teaches, in one query: "is empty"
+  // becomes a NOT EXISTS on course_faculty by course_id (idx_course_faculty_course). With an
+  // unpaged Pageable the count query is skipped.
+  @Query(value = "select c.id as id, c.code as code, c.name as name, "
+      + "c.hoursRequiredPerWeek as hoursRequiredPerWeek from Course c "
+      + "where c.taughtBy is empty and c.id in ("
+      + "select p.course.id from FacultyCoursePreference p "
+      + "where p.preferenceSet.term.id = :termId and p.preferenceSet.status = :status) "
+      + "order by c.code",
+      countQuery = "select count(c) from Course c "
+      + "where c.taughtBy is empty and c.id in ("
+      + "select p.course.id from FacultyCoursePreference p "
+      + "where p.preferenceSet.term.id = :termId and p.preferenceSet.status = :status)")
+  Page<CourseSummary> findUnassignedInTerm(
+      @Param("termId") UUID termId, @Param("status") Status status, Pageable pageable);
+
+  // The lookups below go through course_faculty by faculty_id (idx_course_faculty_faculty)
+  @Query("select c from Course c join c.taughtBy f where f.id = :facultyId order by c.code")
+  List<Course> findTaughtBy(@Param("facultyId") UUID facultyId);
+
+  // Every course the given faculties teach, with its hours: their loads and links in one query
+  @Query("select f.id as facultyId, c.id as courseId, c.hoursRequiredPerWeek as hoursRequiredPerWeek "
+      + "from Course c join c.taughtBy f where f.id in :facultyIds")
+  List<TaughtCourse> findTaughtByAny(@Param("facultyIds") Collection<UUID> facultyIds);
+
+  interface CourseSummary {
+    UUID getId();
+    String getCode();
+    String getName();
+    Integer getHoursRequiredPerWeek();
+  }
+
+  interface TaughtCourse {
+    UUID getFacultyId();
+    UUID getCourseId();
+    Integer getHoursRequiredPerWeek();
+  }
+
+  interface CourseFacultyLink {
+    UUID getCourseId();
+    UUID getFacultyId();
+  }
 }
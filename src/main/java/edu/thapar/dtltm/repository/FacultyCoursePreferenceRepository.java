@@ -1,15 +1,37 @@
 package edu.thapar.dtltm.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import edu.thapar.dtltm.model.FacultyCoursePreference;
+import edu.thapar.dtltm.model.PreferenceSet.Status;
 
 public interface FacultyCoursePreferenceRepository extends JpaRepository<FacultyCoursePreference, UUID> {
   List<FacultyCoursePreference> findByPreferenceSet_IdOrderByRankAsc(UUID preferenceSetId);
   void deleteByPreferenceSet_Id(UUID preferenceSetId);
+
+  @Query("select s.id as preferenceSetId, s.faculty.id as facultyId, p.course.id as courseId, p.rank as rank "
+      + "from FacultyCoursePreference p join p.preferenceSet s "
+      + "where s.term.id = :termId and s.status = :status order by s.id, p.rank")
+  List<PreferenceRow> findRowsByTermAndStatus(@Param("termId") UUID termId, @Param("status") Status status);
+
+  @Query("select s.id as preferenceSetId, s.faculty.id as facultyId, p.course.id as courseId, p.rank as rank "
+      + "from FacultyCoursePreference p join p.preferenceSet s "
+      + "where s.term.id in :termIds and s.status = :status order by s.id, p.rank")
+  List<PreferenceRow> findRowsByTermInAndStatus(
+      @Param("termIds") Collection<UUID> termIds, @Param("status") Status status);
+
+  interface PreferenceRow {
+    UUID getPreferenceSetId();
+    UUID getFacultyId();
+    UUID getCourseId();
+    Integer getRank();
+  }
 }
 
 
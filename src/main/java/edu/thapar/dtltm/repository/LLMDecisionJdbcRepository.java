@@ -0,0 +1,40 @@
+package edu.thapar.dtltm.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import edu.thapar.dtltm.model.LLMDecision;
+import lombok.RequiredArgsConstructor;
+
+// Bulk writes to llm_decisions: one batch however many answers arrive together, where saving
+// entities with assigned ids would read each row first
+@Repository
+@RequiredArgsConstructor
+public class LLMDecisionJdbcRepository {
+  private static final String UPSERT =
+      "insert into llm_decisions (faculty_id, course_id, faculty_version, course_version, recommended, decided_at) "
+          + "values (?, ?, ?, ?, ?, ?) "
+          + "on conflict (faculty_id, course_id) do update set faculty_version = excluded.faculty_version, "
+          + "course_version = excluded.course_version, recommended = excluded.recommended, "
+          + "decided_at = excluded.decided_at";
+  private static final int BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public void upsert(List<LLMDecision> decisions) {
+    if (decisions.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(UPSERT, decisions, BATCH_SIZE, (ps, decision) -> {
+      ps.setObject(1, decision.getFacultyId());
+      ps.setObject(2, decision.getCourseId());
+      ps.setLong(3, decision.getFacultyVersion());
+      ps.setLong(4, decision.getCourseVersion());
+      ps.setBoolean(5, decision.getRecommended());
+      ps.setTimestamp(6, Timestamp.from(decision.getDecidedAt()));
+    });
+  }
+}
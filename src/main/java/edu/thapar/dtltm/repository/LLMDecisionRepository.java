@@ -0,0 +1,13 @@
+package edu.thapar.dtltm.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import edu.thapar.dtltm.model.LLMDecision;
+
+public interface LLMDecisionRepository extends JpaRepository<LLMDecision, LLMDecision.Key> {
+  List<LLMDecision> findByCourseIdIn(Collection<UUID> courseIds);
+}
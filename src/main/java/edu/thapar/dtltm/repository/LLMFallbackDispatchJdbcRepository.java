@@ -0,0 +1,59 @@
+package edu.thapar.dtltm.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+// Bulk access to llm_fallback_dispatches (mapped by LLMFallbackDispatch). A term has at most one
+// row per course, so reading all of a term's rows is as cheap as looking up the ones needed.
+@Repository
+@RequiredArgsConstructor
+public class LLMFallbackDispatchJdbcRepository {
+  private static final String SELECT_OF_TERM =
+      "select course_id, candidate_hash, sent_at from llm_fallback_dispatches where term_id = ?";
+  private static final String UPSERT =
+      "insert into llm_fallback_dispatches (term_id, course_id, candidate_hash, sent_at) values (?, ?, ?, ?) "
+          + "on conflict (term_id, course_id) do update "
+          + "set candidate_hash = excluded.candidate_hash, sent_at = excluded.sent_at";
+  private static final int BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public Map<UUID, Dispatch> findOfTerm(UUID termId) {
+    Map<UUID, Dispatch> dispatches = new HashMap<>();
+    jdbcTemplate.query(SELECT_OF_TERM, rs -> {
+      UUID courseId = rs.getObject("course_id", UUID.class);
+      dispatches.put(courseId, new Dispatch(courseId, rs.getLong("candidate_hash"),
+          rs.getTimestamp("sent_at").toInstant()));
+    }, termId);
+    return dispatches;
+  }
+
+  public void upsert(UUID termId, List<Dispatch> dispatches) {
+    if (dispatches.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(UPSERT, dispatches, BATCH_SIZE, (ps, dispatch) -> {
+      ps.setObject(1, termId);
+      ps.setObject(2, dispatch.getCourseId());
+      ps.setLong(3, dispatch.getCandidateHash());
+      ps.setTimestamp(4, Timestamp.from(dispatch.getSentAt()));
+    });
+  }
+
+  @Value
+  public static class Dispatch {
+    UUID courseId;
+    long candidateHash;
+    Instant sentAt;
+  }
+}
@@ -0,0 +1,109 @@
+package edu.thapar.dtltm.repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+// Bulk access to outbox_events (mapped by OutboxEvent)
+@Repository
+@RequiredArgsConstructor
+public class OutboxJdbcRepository {
+  private static final String INSERT =
+      "insert into outbox_events (topic, message_key, payload, created_at) values (?, ?, ?, ?)";
+  private static final String HAS_ACTIVE_CLAIM =
+      "select exists (select 1 from outbox_events where claimed_until > now())";
+  // Expired claims are taken over: their relay died or gave up without releasing them
+  private static final String CLAIM_OLDEST =
+      "update outbox_events set claimed_until = now() + ? * interval '1 millisecond' "
+          + "where id in (select id from outbox_events order by id limit ?) "
+          + "returning id, topic, message_key, payload";
+  private static final String RELEASE = "update outbox_events set claimed_until = null where id = ?";
+  private static final String DELETE = "delete from outbox_events where id = ?";
+  private static final String BACKLOG = "select count(*) as pending, min(created_at) as oldest from outbox_events";
+  // Transaction-scoped, so it is released on commit or rollback; the key is arbitrary but fixed
+  private static final String TRY_LOCK = "select pg_try_advisory_xact_lock(?)";
+  private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+  private static final int BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public void append(List<Message> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    Timestamp createdAt = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate(INSERT, messages, BATCH_SIZE, (ps, message) -> {
+      ps.setString(1, message.getTopic());
+      ps.setString(2, message.getKey());
+      ps.setString(3, message.getPayload());
+      ps.setTimestamp(4, createdAt);
+    });
+  }
+
+  // Only one relay may claim at a time, or two instances would interleave batches
+  public boolean tryLockForRelay() {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, RELAY_LOCK_KEY));
+  }
+
+  // Whether a relay has rows in flight; claims are taken under tryLockForRelay, so while this
+  // holds no other relay starts a batch and the order across batches is kept
+  public boolean hasActiveClaim() {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_ACTIVE_CLAIM, Boolean.class));
+  }
+
+  // Marks the oldest rows as being sent until the lease runs out; returned in id order
+  public List<Stored> claimOldest(int limit, Duration lease) {
+    List<Stored> claimed = new ArrayList<>(jdbcTemplate.query(CLAIM_OLDEST, (rs, i) -> new Stored(
+        rs.getLong("id"),
+        new Message(rs.getString("topic"), rs.getString("message_key"), rs.getString("payload"))),
+        lease.toMillis(), limit));
+    claimed.sort(Comparator.comparingLong(Stored::getId));
+    return claimed;
+  }
+
+  // Gives claimed rows back, so the next poll retries them without waiting for the lease
+  public void release(List<Stored> stored) {
+    jdbcTemplate.batchUpdate(RELEASE, stored, BATCH_SIZE, (ps, row) -> ps.setLong(1, row.getId()));
+  }
+
+  // By id, not by range: a row with a lower id may commit after a batch was read
+  public void delete(List<Stored> stored) {
+    jdbcTemplate.batchUpdate(DELETE, stored, BATCH_SIZE, (ps, row) -> ps.setLong(1, row.getId()));
+  }
+
+  public Backlog backlog() {
+    return jdbcTemplate.queryForObject(BACKLOG, (rs, i) -> {
+      Timestamp oldest = rs.getTimestamp("oldest");
+      return new Backlog(rs.getLong("pending"), oldest != null ? oldest.toInstant() : null);
+    });
+  }
+
+  @Value
+  public static class Message {
+    String topic;
+    String key;
+    String payload;
+  }
+
+  @Value
+  public static class Stored {
+    long id;
+    Message message;
+  }
+
+  @Value
+  public static class Backlog {
+    long pending;
+    // Null when the outbox is empty
+    Instant oldest;
+  }
+}
@@ -1,10 +1,13 @@
 package edu.thapar.dtltm.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import edu.thapar.dtltm.model.PreferenceSet;
 import edu.thapar.dtltm.model.PreferenceSet.Status;
@@ -14,6 +17,16 @@ public interface PreferenceSetRepository extends JpaRepository<PreferenceSet, UU
   List<PreferenceSet> findByFaculty_Id(UUID facultyId);
   List<PreferenceSet> findByFaculty_IdAndStatus(UUID facultyId, Status status);
   List<PreferenceSet> findByTerm_Id(UUID termId);
+
+  @Query("select s from PreferenceSet s join fetch s.faculty "
+      + "where s.term.id = :termId and s.status = :status order by s.id")
+  List<PreferenceSet> findWithFacultyByTermAndStatus(
+      @Param("termId") UUID termId, @Param("status") Status status);
+
+  @Query("select s from PreferenceSet s join fetch s.faculty "
+      + "where s.term.id in :termIds and s.status = :status order by s.id")
+  List<PreferenceSet> findWithFacultyByTermInAndStatus(
+      @Param("termIds") Collection<UUID> termIds, @Param("status") Status status);
 }
 
 
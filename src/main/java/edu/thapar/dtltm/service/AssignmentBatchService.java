@@ -0,0 +1,152 @@
+package edu.thapar.dtltm.service;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import edu.thapar.dtltm.dto.AssignmentBatchResponse;
+import edu.thapar.dtltm.dto.AssignmentBatchResponse.Status;
+import edu.thapar.dtltm.dto.AssignmentBatchResponse.TermSummary;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategy;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategyRegistry;
+import edu.thapar.dtltm.service.assignment.SolverContext;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+// Assigns many terms in one call: a single load for the whole batch, the solves in parallel
+// on the batch executor, then each plan persisted in its own transaction, one term after the
+// other so the write-backs never contend on course_faculty. A failing term does not stop the rest.
+// All terms of the batch are taken in TermRunGuard for the whole call.
+@Service
+@Slf4j
+public class AssignmentBatchService {
+  private static final String BATCH_RUN = "batch run";
+
+  private final AssignmentService assignmentService;
+  private final AssignmentStrategyRegistry strategyRegistry;
+  private final TermRunGuard termRunGuard;
+  private final ThreadPoolTaskExecutor executor;
+  private final int maxParallelism;
+
+  public AssignmentBatchService(
+      AssignmentService assignmentService,
+      AssignmentStrategyRegistry strategyRegistry,
+      TermRunGuard termRunGuard,
+      ThreadPoolTaskExecutor assignmentBatchExecutor,
+      @Value("${dtltm.assignment.batch.parallelism:4}") int maxParallelism) {
+    this.assignmentService = assignmentService;
+    this.strategyRegistry = strategyRegistry;
+    this.termRunGuard = termRunGuard;
+    this.executor = assignmentBatchExecutor;
+    this.maxParallelism = maxParallelism;
+  }
+
+  public AssignmentBatchResponse run(List<UUID> termIds, String strategyName, Duration timeBudget,
+      Integer parallelism) {
+    AssignmentStrategy strategy = strategyRegistry.get(strategyName);
+    List<UUID> terms = List.copyOf(new LinkedHashSet<>(termIds));
+    termRunGuard.acquireAll(terms, BATCH_RUN);
+    try {
+      return assignAll(terms, strategy, timeBudget, parallelism);
+    } finally {
+      termRunGuard.releaseAll(terms, BATCH_RUN);
+    }
+  }
+
+  private AssignmentBatchResponse assignAll(List<UUID> terms, AssignmentStrategy strategy, Duration timeBudget,
+      Integer parallelism) {
+    long start = System.nanoTime();
+
+    Map<UUID, TermSnapshot> snapshots = assignmentService.loadSnapshots(terms);
+    List<TermRun> runs = terms.stream().map(termId -> new TermRun(snapshots.get(termId))).toList();
+    long loaded = System.nanoTime();
+
+    int workers = Math.min(terms.size(), parallelism != null ? Math.min(parallelism, maxParallelism) : maxParallelism);
+    ParallelSolves.run(executor, workers, runs.size(), i -> solve(runs.get(i), strategy, timeBudget));
+    long solved = System.nanoTime();
+
+    for (TermRun run : runs) {
+      if (run.plan != null) {
+        persist(run, strategy);
+      }
+    }
+    long persisted = System.nanoTime();
+
+    List<TermSummary> summaries = runs.stream().map(TermRun::toSummary).toList();
+    int failed = (int) summaries.stream().filter(summary -> summary.getStatus() == Status.FAILED).count();
+    log.info("Assigned {} terms with {} in {} ms using {} workers: {} failed",
+        terms.size(), strategy.name(), (persisted - start) / 1_000_000, workers, failed);
+
+    return AssignmentBatchResponse.builder()
+        .strategy(strategy.name())
+        .parallelism(workers)
+        .succeeded(summaries.size() - failed)
+        .failed(failed)
+        .loadMs((loaded - start) / 1_000_000)
+        .solveMs((solved - loaded) / 1_000_000)
+        .persistMs((persisted - solved) / 1_000_000)
+        .elapsedMs((persisted - start) / 1_000_000)
+        .totalSolveMs(runs.stream().filter(run -> run.context != null).mapToLong(run -> run.context.elapsedMillis()).sum())
+        .terms(summaries)
+        .build();
+  }
+
+  private void solve(TermRun run, AssignmentStrategy strategy, Duration timeBudget) {
+    if (run.snapshot.getFaculties().isEmpty()) {
+      run.error = "No closed preference sets found for term";
+      return;
+    }
+    try {
+      run.context = SolverContext.withBudget(timeBudget);
+      run.plan = assignmentService.solve(strategy, run.snapshot, run.context);
+    } catch (RuntimeException e) {
+      log.error("Batch solve failed for term {}", run.snapshot.getTermId(), e);
+      run.error = e.getMessage();
+    }
+  }
+
+  private void persist(TermRun run, AssignmentStrategy strategy) {
+    long start = System.nanoTime();
+    try {
+      // Counted as recorded, with the courses assigned from cached LLM decisions
+      run.plan = assignmentService.applyPlan(run.snapshot, run.plan, strategy.name(), run.context).getPlan();
+    } catch (RuntimeException e) {
+      log.error("Batch persist failed for term {}", run.snapshot.getTermId(), e);
+      run.error = e.getMessage();
+    }
+    run.persistMillis = (System.nanoTime() - start) / 1_000_000;
+  }
+
+  // Written by one solver thread, read after the join
+  private static final class TermRun {
+    final TermSnapshot snapshot;
+    SolverContext context;
+    AssignmentPlan plan;
+    Long persistMillis;
+    String error;
+
+    TermRun(TermSnapshot snapshot) {
+      this.snapshot = snapshot;
+    }
+
+    TermSummary toSummary() {
+      return TermSummary.builder()
+          .termId(snapshot.getTermId())
+          .status(error == null ? Status.DONE : Status.FAILED)
+          .assignedCount(plan != null ? plan.getAssignments().size() : null)
+          .unassignedCount(plan != null ? plan.getUnassignedCourseIds().size() : null)
+          .solveMs(context != null ? context.elapsedMillis() : null)
+          .persistMs(persistMillis)
+          .optimality(context != null ? context.optimality() : null)
+          .error(error)
+          .build();
+    }
+  }
+}
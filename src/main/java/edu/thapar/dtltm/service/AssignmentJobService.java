@@ -0,0 +1,143 @@
+package edu.thapar.dtltm.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import edu.thapar.dtltm.exception.BadRequestException;
+import edu.thapar.dtltm.exception.ConflictException;
+import edu.thapar.dtltm.exception.ResourceNotFoundException;
+import edu.thapar.dtltm.mapper.AssignmentPlanMapper;
+import edu.thapar.dtltm.repository.AcademicTermRepository;
+import edu.thapar.dtltm.service.assignment.AppliedPlan;
+import edu.thapar.dtltm.service.assignment.AssignmentJob;
+import edu.thapar.dtltm.service.assignment.AssignmentJob.Phase;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategy;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategyRegistry;
+import edu.thapar.dtltm.service.assignment.SolverContext;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+// Runs assignments in the background so the HTTP request only submits and polls.
+// Load and persist each run in their own short transaction; the solve holds none.
+@Service
+@Slf4j
+public class AssignmentJobService {
+  private final AssignmentService assignmentService;
+  private final AssignmentStrategyRegistry strategyRegistry;
+  private final AcademicTermRepository academicTermRepository;
+  private final TermRunGuard termRunGuard;
+  private final ThreadPoolTaskExecutor executor;
+  private final Duration retention;
+
+  private final Map<UUID, AssignmentJob> jobs = new ConcurrentHashMap<>();
+
+  public AssignmentJobService(
+      AssignmentService assignmentService,
+      AssignmentStrategyRegistry strategyRegistry,
+      AcademicTermRepository academicTermRepository,
+      TermRunGuard termRunGuard,
+      ThreadPoolTaskExecutor assignmentJobExecutor,
+      @Value("${dtltm.assignment.jobs.retention:PT1H}") Duration retention) {
+    this.assignmentService = assignmentService;
+    this.strategyRegistry = strategyRegistry;
+    this.academicTermRepository = academicTermRepository;
+    this.termRunGuard = termRunGuard;
+    this.executor = assignmentJobExecutor;
+    this.retention = retention;
+  }
+
+  public AssignmentJob submit(UUID termId, String strategyName, Duration timeBudget, boolean warmStart) {
+    // Fail fast on bad input rather than in a job nobody may poll
+    AssignmentStrategy strategy = strategyRegistry.get(strategyName);
+    if (!academicTermRepository.existsById(termId)) {
+      throw new BadRequestException("Term not found");
+    }
+
+    // The term stays taken from now until the job has finished, queued time included
+    AssignmentJob job = new AssignmentJob(termId, strategy.name(), timeBudget, warmStart);
+    termRunGuard.acquire(termId, holderOf(job));
+    jobs.put(job.getId(), job);
+
+    try {
+      executor.execute(() -> run(job, strategy));
+    } catch (TaskRejectedException e) {
+      jobs.remove(job.getId());
+      termRunGuard.release(termId, holderOf(job));
+      throw new ConflictException("Too many assignment jobs are queued, try again later");
+    }
+    log.info("Queued assignment job {} for term {} with {}", job.getId(), termId, strategy.name());
+    return job;
+  }
+
+  public AssignmentJob get(UUID jobId) {
+    AssignmentJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new ResourceNotFoundException("Assignment job not found");
+    }
+    return job;
+  }
+
+  // A queued job never starts; a solving job stops at the solver's next check and is not
+  // persisted. Once persisting has begun the job runs to completion.
+  public AssignmentJob cancel(UUID jobId) {
+    AssignmentJob job = get(jobId);
+    if (!job.getPhase().isFinished()) {
+      job.requestCancel();
+      log.info("Cancellation requested for assignment job {}", jobId);
+    }
+    return job;
+  }
+
+  private void run(AssignmentJob job, AssignmentStrategy strategy) {
+    try {
+      if (job.isCancelRequested()) {
+        job.finish(Phase.CANCELLED);
+        return;
+      }
+      job.enter(Phase.LOADING);
+      TermSnapshot snapshot = assignmentService.loadSnapshot(job.getTermId());
+      List<AssignmentPlan.Assignment> seed = job.isWarmStart()
+          ? assignmentService.loadWarmStart(job.getTermId())
+          : List.of();
+
+      SolverContext context = job.startSolving();
+      AssignmentPlan plan = assignmentService.solve(strategy, snapshot, context, seed);
+      if (context.isCancelled()) {
+        job.finish(Phase.CANCELLED);
+        log.info("Assignment job {} cancelled after {} ms", job.getId(), job.elapsedMillis());
+        return;
+      }
+
+      job.enter(Phase.PERSISTING);
+      AppliedPlan applied = assignmentService.applyPlan(snapshot, plan, strategy.name(), context);
+      job.complete(AssignmentPlanMapper.toDTOs(applied.getSnapshot(), applied.getPlan()));
+      log.info("Assignment job {} finished in {} ms", job.getId(), job.elapsedMillis());
+    } catch (Exception e) {
+      log.error("Assignment job {} failed", job.getId(), e);
+      job.fail(e.getMessage());
+    } finally {
+      termRunGuard.release(job.getTermId(), holderOf(job));
+    }
+  }
+
+  private static String holderOf(AssignmentJob job) {
+    return "job " + job.getId();
+  }
+
+  // Finished jobs are kept for polling for a while, then dropped
+  @Scheduled(fixedDelayString = "${dtltm.assignment.jobs.eviction-interval:PT1M}")
+  public void evictExpired() {
+    long cutoff = System.nanoTime() - retention.toNanos();
+    jobs.values().removeIf(job -> job.getPhase().isFinished() && job.getFinishedNanos() - cutoff < 0);
+  }
+}
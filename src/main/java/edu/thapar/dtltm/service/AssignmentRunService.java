@@ -0,0 +1,204 @@
+package edu.thapar.dtltm.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.thapar.dtltm.dto.AssignmentResponse;
+import edu.thapar.dtltm.dto.AssignmentStreamRecord;
+import edu.thapar.dtltm.exception.ResourceNotFoundException;
+import edu.thapar.dtltm.model.AcademicTerm;
+import edu.thapar.dtltm.model.AssignmentRun;
+import edu.thapar.dtltm.model.AssignmentRunRow;
+import edu.thapar.dtltm.repository.AcademicTermRepository;
+import edu.thapar.dtltm.repository.AssignmentRunRepository;
+import edu.thapar.dtltm.repository.AssignmentRunRowRepository;
+import edu.thapar.dtltm.repository.AssignmentRunRowRepository.RowView;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan;
+import edu.thapar.dtltm.service.assignment.SolverContext;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+// Stores every applied plan as an immutable run and serves the latest one per term
+@Service
+@RequiredArgsConstructor
+public class AssignmentRunService {
+  private final AssignmentRunRepository assignmentRunRepository;
+  private final AssignmentRunRowRepository assignmentRunRowRepository;
+  private final AcademicTermRepository academicTermRepository;
+
+  @Transactional
+  public AssignmentRun record(TermSnapshot snapshot, AssignmentPlan plan, String strategy, SolverContext context) {
+    SolverContext.Optimality optimality = context.optimality();
+    AssignmentRun run = assignmentRunRepository.save(AssignmentRun.builder()
+        .term(academicTermRepository.getReferenceById(snapshot.getTermId()))
+        .strategy(strategy)
+        .startedAt(context.startedAt())
+        .solveMillis(context.elapsedMillis())
+        .assignedCount(plan.getAssignments().size())
+        .unassignedCount(plan.getUnassignedCourseIds().size())
+        .unassignedCourseIds(new ArrayList<>(plan.getUnassignedCourseIds()))
+        .objective(optimality != null ? optimality.getObjective() : null)
+        .lowerBound(optimality != null ? optimality.getLowerBound() : null)
+        .optimalityGap(optimality != null ? optimality.getGap() : null)
+        .build());
+
+    Map<UUID, CourseInfo> coursesById = new HashMap<>();
+    for (CourseInfo course : snapshot.getCourses()) {
+      coursesById.put(course.getId(), course);
+    }
+    Map<UUID, List<AssignmentPlan.Assignment>> byFaculty = new HashMap<>();
+    for (AssignmentPlan.Assignment assignment : plan.getAssignments()) {
+      byFaculty.computeIfAbsent(assignment.getFacultyId(), k -> new ArrayList<>()).add(assignment);
+    }
+
+    // Same shape as the run's response: every faculty with preferences, in snapshot order
+    List<AssignmentRunRow> rows = new ArrayList<>();
+    for (FacultyInfo faculty : snapshot.getFaculties()) {
+      List<AssignmentPlan.Assignment> assigned = byFaculty.getOrDefault(faculty.getId(), List.of());
+      if (assigned.isEmpty()) {
+        rows.add(row(run, rows.size(), faculty).build());
+      }
+      for (AssignmentPlan.Assignment assignment : assigned) {
+        CourseInfo course = coursesById.get(assignment.getCourseId());
+        rows.add(row(run, rows.size(), faculty)
+            .courseId(course.getId())
+            .courseCode(course.getCode())
+            .courseName(course.getName())
+            .hoursRequiredPerWeek(course.getHoursRequiredPerWeek())
+            .preferenceRank(assignment.getPreferenceRank())
+            .build());
+      }
+    }
+    assignmentRunRowRepository.saveAll(rows);
+    return run;
+  }
+
+  // Read-only: serves what a run decided without solving, writing or publishing anything
+  @Transactional(readOnly = true)
+  public List<AssignmentResponse> getResponses(UUID runId) {
+    AssignmentRun run = assignmentRunRepository.findById(runId)
+        .orElseThrow(() -> new ResourceNotFoundException("Assignment run not found"));
+    List<UUID> unassigned = List.copyOf(run.getUnassignedCourseIds());
+
+    Map<UUID, AssignmentResponse> byFaculty = new LinkedHashMap<>();
+    for (AssignmentRunRow row : assignmentRunRowRepository.findByRun_IdOrderByRowIndexAsc(run.getId())) {
+      AssignmentResponse response = byFaculty.computeIfAbsent(row.getFacultyId(), id -> AssignmentResponse.builder()
+          .facultyId(id)
+          .facultyName(row.getFacultyName())
+          .assignedCourses(new ArrayList<>())
+          .unassignedCourseIds(unassigned)
+          .build());
+      if (row.getCourseId() != null) {
+        response.getAssignedCourses().add(AssignmentResponse.AssignedCourse.builder()
+            .courseId(row.getCourseId())
+            .courseCode(row.getCourseCode())
+            .courseName(row.getCourseName())
+            .hoursRequiredPerWeek(row.getHoursRequiredPerWeek())
+            .build());
+      }
+    }
+    return new ArrayList<>(byFaculty.values());
+  }
+
+  // The term's latest run without its rows; checked up front, so a missing run is a 404 before
+  // any output
+  @Transactional(readOnly = true)
+  public RunSummary getLatestRun(UUID termId) {
+    AssignmentRun run = assignmentRunRepository.findFirstByTerm_IdOrderByCreatedAtDesc(termId)
+        .orElseThrow(() -> new ResourceNotFoundException("No assignment run found for term"));
+    SolverContext.Optimality optimality = run.getObjective() != null
+        ? new SolverContext.Optimality(run.getObjective(), run.getLowerBound(), run.getOptimalityGap())
+        : null;
+    return new RunSummary(run.getId(), optimality);
+  }
+
+  // The run as stream records (see AssignmentStreamRecord), read through a cursor and handed out
+  // one faculty at a time; rows of a faculty are consecutive since they were recorded that way
+  @Transactional(readOnly = true)
+  public void streamRun(UUID runId, Consumer<AssignmentStreamRecord> sink) {
+    AssignmentRun run = assignmentRunRepository.findById(runId)
+        .orElseThrow(() -> new ResourceNotFoundException("Assignment run not found"));
+    UUID termId = run.getTerm().getId();
+    sink.accept(AssignmentStreamRecord.builder()
+        .type(AssignmentStreamRecord.Type.UNASSIGNED)
+        .termId(termId)
+        .unassignedCourseIds(List.copyOf(run.getUnassignedCourseIds()))
+        .build());
+
+    try (Stream<RowView> rows = assignmentRunRowRepository.streamRowsOfRun(runId)) {
+      AssignmentStreamRecord current = null;
+      for (Iterator<RowView> it = rows.iterator(); it.hasNext(); ) {
+        RowView row = it.next();
+        if (current == null || !current.getFacultyId().equals(row.getFacultyId())) {
+          if (current != null) {
+            sink.accept(current);
+          }
+          current = AssignmentStreamRecord.builder()
+              .type(AssignmentStreamRecord.Type.FACULTY)
+              .termId(termId)
+              .facultyId(row.getFacultyId())
+              .facultyName(row.getFacultyName())
+              .assignedCourses(new ArrayList<>())
+              .build();
+        }
+        if (row.getCourseId() != null) {
+          current.getAssignedCourses().add(AssignmentResponse.AssignedCourse.builder()
+              .courseId(row.getCourseId())
+              .courseCode(row.getCourseCode())
+              .courseName(row.getCourseName())
+              .hoursRequiredPerWeek(row.getHoursRequiredPerWeek())
+              .build());
+        }
+      }
+      if (current != null) {
+        sink.accept(current);
+      }
+    }
+  }
+
+  // The latest run of the closest earlier term that has one; terms are ordered by year, then season
+  @Transactional(readOnly = true)
+  public Optional<AssignmentRun> findPreviousTermRun(UUID termId) {
+    AcademicTerm term = academicTermRepository.findById(termId)
+        .orElseThrow(() -> new ResourceNotFoundException("Term not found"));
+    return assignmentRunRepository.findLatestBefore(term.getYear(), term.getSeason().ordinal());
+  }
+
+  // The assignments a run applied, in row order
+  @Transactional(readOnly = true)
+  public List<AssignmentPlan.Assignment> getAssignments(AssignmentRun run) {
+    return assignmentRunRowRepository.findByRun_IdOrderByRowIndexAsc(run.getId()).stream()
+        .filter(row -> row.getCourseId() != null)
+        .map(row -> new AssignmentPlan.Assignment(row.getFacultyId(), row.getCourseId(), row.getPreferenceRank()))
+        .toList();
+  }
+
+  @Value
+  public static class RunSummary {
+    UUID id;
+    // Null for runs that were not measured
+    SolverContext.Optimality optimality;
+  }
+
+  private static AssignmentRunRow.AssignmentRunRowBuilder row(AssignmentRun run, int index, FacultyInfo faculty) {
+    return AssignmentRunRow.builder()
+        .run(run)
+        .rowIndex(index)
+        .facultyId(faculty.getId())
+        .facultyName(faculty.getName());
+  }
+}
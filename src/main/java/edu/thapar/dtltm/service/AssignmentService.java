@@ -1,6 +1,8 @@
 package edu.thapar.dtltm.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -9,23 +11,41 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import edu.thapar.dtltm.dto.AssignmentResponse;
+import edu.thapar.dtltm.dto.AssignmentDeltaResponse;
+import edu.thapar.dtltm.dto.LLMResultRequest;
 import edu.thapar.dtltm.exception.BadRequestException;
-import edu.thapar.dtltm.kafka.AssignmentKafkaProducer;
-import edu.thapar.dtltm.model.AcademicTerm;
+import edu.thapar.dtltm.mapper.AssignmentPlanMapper;
 import edu.thapar.dtltm.model.Course;
 import edu.thapar.dtltm.model.Faculty;
-import edu.thapar.dtltm.model.FacultyCoursePreference;
+import edu.thapar.dtltm.model.LLMDecision;
 import edu.thapar.dtltm.model.PreferenceSet;
 import edu.thapar.dtltm.model.PreferenceSet.Status;
 import edu.thapar.dtltm.repository.AcademicTermRepository;
+import edu.thapar.dtltm.repository.CourseFacultyJdbcRepository;
 import edu.thapar.dtltm.repository.CourseRepository;
-import edu.thapar.dtltm.repository.FacultyCoursePreferenceRepository;
+import edu.thapar.dtltm.repository.CourseRepository.CourseSummary;
 import edu.thapar.dtltm.repository.FacultyRepository;
 import edu.thapar.dtltm.repository.PreferenceSetRepository;
+import edu.thapar.dtltm.service.assignment.AppliedPlan;
+import edu.thapar.dtltm.service.assignment.AssignmentDiff;
+import edu.thapar.dtltm.service.assignment.AssignmentLimits;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategy;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategyRegistry;
+import edu.thapar.dtltm.service.assignment.IncrementalReassigner;
+import edu.thapar.dtltm.service.assignment.SolverContext;
+import edu.thapar.dtltm.service.assignment.SolverModel;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import edu.thapar.dtltm.service.assignment.TermSnapshotLoader;
+import edu.thapar.dtltm.service.assignment.WarmStart;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,265 +53,219 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class AssignmentService {
+  // Strategy name recorded for runs made by reassignIncremental
+  public static final String INCREMENTAL_RUN = "incremental";
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final int MAX_PAGE_SIZE = 500;
+
   private final AcademicTermRepository academicTermRepository;
   private final PreferenceSetRepository preferenceSetRepository;
-  private final FacultyCoursePreferenceRepository facultyCoursePreferenceRepository;
   private final CourseRepository courseRepository;
   private final FacultyRepository facultyRepository;
-  private final AssignmentKafkaProducer kafkaProducer;
+  private final LLMFallbackService llmFallbackService;
+  private final LLMDecisionService llmDecisionService;
+  private final TermSnapshotLoader termSnapshotLoader;
+  private final AssignmentStrategyRegistry strategyRegistry;
+  private final AssignmentRunService assignmentRunService;
+  private final TermRunGuard termRunGuard;
+  private final CourseFacultyJdbcRepository courseFacultyJdbcRepository;
+  private final AssignmentLimits assignmentLimits;
+  private final MeterRegistry meterRegistry;
+
+  // Returns the plan rather than the per-faculty responses, so the caller builds them once the
+  // transaction has committed
+  @Transactional
+  public AppliedPlan assign(UUID termId, String strategyName, Duration timeBudget, boolean warmStart) {
+    AssignmentStrategy strategy = strategyRegistry.get(strategyName);
+    termRunGuard.acquireForTransaction(termId, "synchronous run (" + strategy.name() + ")");
+    TermSnapshot snapshot = loadSnapshot(termId);
+    List<AssignmentPlan.Assignment> seed = warmStart ? loadWarmStart(termId) : List.of();
+    SolverContext context = SolverContext.withBudget(timeBudget);
+    AssignmentPlan solved = solve(strategy, snapshot, context, seed);
+    return new AppliedPlan(snapshot, persistPlan(snapshot, solved, strategy.name(), context), context.optimality());
+  }
 
+  // Re-solves only what a change to some faculties / courses touches, starting from the
+  // assignment currently in course_faculty, and writes back just the difference
   @Transactional
-  public List<AssignmentResponse> assignCoursesAutomatic(UUID termId) {
-    AcademicTerm term = academicTermRepository.findById(termId)
-        .orElseThrow(() -> new BadRequestException("Term not found"));
+  public AssignmentDeltaResponse reassignIncremental(UUID termId, Collection<UUID> facultyIds,
+      Collection<UUID> courseIds) {
+    termRunGuard.acquireForTransaction(termId, "incremental run");
+    TermSnapshot snapshot = loadSnapshot(termId);
+
+    SolverContext context = SolverContext.unbounded();
+    AssignmentPlan previous = snapshot.currentPlan();
+    // The previous plan's own links must not count as "already teaches" when repairing it
+    SolverModel model = SolverModel.compile(snapshot.withoutTeachers(previous.getAssignments()));
+    AssignmentDiff diff = new IncrementalReassigner(model).repair(previous,
+        facultyIds != null ? facultyIds : List.of(), courseIds != null ? courseIds : List.of());
+    log.info("Repaired term {} in {} ms: {} added, {} removed, {} unassigned",
+        termId, context.elapsedMillis(), diff.getAdded().size(), diff.getRemoved().size(),
+        diff.getPlan().getUnassignedCourseIds().size());
+
+    AssignmentDiff applied = applyDiff(snapshot, diff);
+    assignmentRunService.record(snapshot, applied.getPlan(), INCREMENTAL_RUN, context);
+    return toDeltaResponse(snapshot, applied, context.elapsedMillis());
+  }
 
-    // Get all preference sets for this term that are CLOSED (preferences submitted)
-    List<PreferenceSet> preferenceSets = preferenceSetRepository.findByTerm_Id(termId)
-        .stream()
-        .filter(set -> set.getStatus() == Status.CLOSED)
-        .toList();
+  // The three phases of a run, callable separately so a background job can keep
+  // the (potentially long) solve outside of any transaction
 
-    if (preferenceSets.isEmpty()) {
-      throw new BadRequestException("No closed preference sets found for term");
+  public TermSnapshot loadSnapshot(UUID termId) {
+    if (!academicTermRepository.existsById(termId)) {
+      throw new BadRequestException("Term not found");
     }
 
-    // Get all courses that need assignment and map to all interested faculties
-    Set<UUID> allCourseIds = new HashSet<>();
-    Map<UUID, List<FacultyCandidate>> courseToFacultiesMap = new HashMap<>(); // courseId -> list of interested faculties
-    
-    for (PreferenceSet set : preferenceSets) {
-      List<FacultyCoursePreference> preferences = facultyCoursePreferenceRepository
-          .findByPreferenceSet_IdOrderByRankAsc(set.getId());
-      for (FacultyCoursePreference pref : preferences) {
-        UUID courseId = pref.getCourse().getId();
-        allCourseIds.add(courseId);
-        
-        FacultyCandidate candidate = new FacultyCandidate(
-            set.getFaculty(),
-            set.getId(),
-            pref.getRank()
-        );
-        courseToFacultiesMap.computeIfAbsent(courseId, k -> new ArrayList<>()).add(candidate);
-      }
+    // Get everything the solver needs for the term's CLOSED preference sets in one pass
+    TermSnapshot snapshot = termSnapshotLoader.load(termId);
+    if (snapshot.getFaculties().isEmpty()) {
+      throw new BadRequestException("No closed preference sets found for term");
     }
+    return snapshot;
+  }
 
-    // Track assignments
-    Map<UUID, List<Course>> facultyAssignments = new HashMap<>(); // facultyId -> assigned courses
-    Map<UUID, Integer> facultyHoursUsed = new HashMap<>(); // facultyId -> hours used
-    Set<UUID> assignedCourseIds = new HashSet<>();
-    List<Course> unassignedCourses = new ArrayList<>();
-
-    // Get all courses
-    List<Course> coursesToAssign = courseRepository.findAllById(allCourseIds);
-
-    // Sort courses by priority (prefer courses with higher preference ranks)
-    coursesToAssign.sort((c1, c2) -> {
-      List<FacultyCandidate> candidates1 = courseToFacultiesMap.getOrDefault(c1.getId(), new ArrayList<>());
-      List<FacultyCandidate> candidates2 = courseToFacultiesMap.getOrDefault(c2.getId(), new ArrayList<>());
-      
-      if (candidates1.isEmpty() || candidates2.isEmpty()) return 0;
-      
-      // Use best (lowest) preference rank
-      Integer bestRank1 = candidates1.stream().mapToInt(c -> c.preferenceRank).min().orElse(Integer.MAX_VALUE);
-      Integer bestRank2 = candidates2.stream().mapToInt(c -> c.preferenceRank).min().orElse(Integer.MAX_VALUE);
-      return bestRank1.compareTo(bestRank2);
-    });
-
-    // Assign courses
-    for (Course course : coursesToAssign) {
-      if (assignedCourseIds.contains(course.getId())) {
-        continue; // Already assigned
-      }
-
-      // Find best faculty for this course among all interested faculties
-      List<FacultyCandidate> candidates = courseToFacultiesMap.getOrDefault(course.getId(), new ArrayList<>());
-      FacultyCandidate bestCandidate = findBestFacultyCandidate(
-          course,
-          candidates,
-          facultyAssignments,
-          facultyHoursUsed
-      );
-
-      if (bestCandidate != null) {
-        // Assign course to faculty
-        Faculty bestFaculty = bestCandidate.faculty;
-        facultyAssignments.computeIfAbsent(bestFaculty.getId(), k -> new ArrayList<>()).add(course);
-        facultyHoursUsed.put(bestFaculty.getId(),
-            facultyHoursUsed.getOrDefault(bestFaculty.getId(), 0) + course.getHoursRequiredPerWeek());
-        assignedCourseIds.add(course.getId());
-        
-        // Update course's taughtBy relationship
-        List<Faculty> currentTeachers = course.getTaughtBy() != null ? course.getTaughtBy() : new ArrayList<>();
-        if (!currentTeachers.contains(bestFaculty)) {
-          currentTeachers.add(bestFaculty);
-          course.setTaughtBy(currentTeachers);
-          courseRepository.save(course);
-        }
-      } else {
-        // Criteria 1-3 failed, trigger LLM fallback for all interested faculties
-        for (FacultyCandidate candidate : candidates) {
-          kafkaProducer.sendLLMAssignmentEvent(
-              candidate.faculty.getId(),
-              course.getId(),
-              termId,
-              candidate.preferenceRank
-          );
-          log.info("Triggered LLM fallback for faculty {} and course {}",
-              candidate.faculty.getId(), course.getId());
-        }
-        unassignedCourses.add(course);
-      }
+  // Loads many terms at once, sharing the reference data they have in common; terms without
+  // closed preference sets come back with an empty snapshot rather than failing the batch
+  public Map<UUID, TermSnapshot> loadSnapshots(Collection<UUID> termIds) {
+    if (academicTermRepository.countByIdIn(termIds) != termIds.size()) {
+      throw new BadRequestException("Term not found");
     }
+    return termSnapshotLoader.loadAll(termIds);
+  }
 
-    // Build response
-    List<AssignmentResponse> responses = new ArrayList<>();
-    
-    // Get all faculties that had preferences
-    Set<UUID> facultyIds = preferenceSets.stream()
-        .map(set -> set.getFaculty().getId())
-        .collect(Collectors.toSet());
-    
-    for (UUID facultyId : facultyIds) {
-      Faculty faculty = facultyRepository.findById(facultyId).orElse(null);
-      if (faculty == null) continue;
-
-      List<Course> assigned = facultyAssignments.getOrDefault(facultyId, new ArrayList<>());
-      List<AssignmentResponse.AssignedCourse> assignedCourses = assigned.stream()
-          .map(c -> AssignmentResponse.AssignedCourse.builder()
-              .courseId(c.getId())
-              .courseCode(c.getCode())
-              .courseName(c.getName())
-              .hoursRequiredPerWeek(c.getHoursRequiredPerWeek())
-              .build())
-          .toList();
-
-      responses.add(AssignmentResponse.builder()
-          .facultyId(facultyId)
-          .facultyName(faculty.getName())
-          .assignedCourses(assignedCourses)
-          .unassignedCourseIds(unassignedCourses.stream().map(Course::getId).toList())
-          .build());
-    }
+  // The assignments of the previous term's latest run, empty when no earlier term has one
+  public List<AssignmentPlan.Assignment> loadWarmStart(UUID termId) {
+    return assignmentRunService.findPreviousTermRun(termId)
+        .map(run -> {
+          log.info("Warm start for term {} from run {} of term {}", termId, run.getId(), run.getTerm().getId());
+          return assignmentRunService.getAssignments(run);
+        })
+        .orElseGet(() -> {
+          log.info("No earlier run to warm start term {} from, solving from scratch", termId);
+          return List.of();
+        });
+  }
 
-    return responses;
+  public AssignmentPlan solve(AssignmentStrategy strategy, TermSnapshot snapshot, SolverContext context) {
+    return solve(strategy, snapshot, context, List.of());
   }
 
-  private FacultyCandidate findBestFacultyCandidate(
-      Course course,
-      List<FacultyCandidate> candidates,
-      Map<UUID, List<Course>> facultyAssignments,
-      Map<UUID, Integer> facultyHoursUsed) {
-    
-    if (candidates.isEmpty()) {
-      return null;
+  // With a seed, the pairs of it that are still valid are kept and only the rest is solved
+  public AssignmentPlan solve(AssignmentStrategy strategy, TermSnapshot snapshot, SolverContext context,
+      List<AssignmentPlan.Assignment> seed) {
+    SolverModel model = SolverModel.compile(snapshot);
+    AssignmentPlan plan;
+    if (seed.isEmpty()) {
+      plan = strategy.solve(model, context);
+    } else {
+      WarmStart warmStart = WarmStart.of(model, seed);
+      log.info("Warm start for term {}: kept {} of {} earlier assignments",
+          snapshot.getTermId(), warmStart.kept(), seed.size());
+      plan = warmStart.solve(strategy, context);
     }
-
-    // Filter candidates that meet constraints
-    List<FacultyCandidate> validCandidates = candidates.stream()
-        .filter(candidate -> {
-          Faculty faculty = candidate.faculty;
-          
-          // Check max 2 courses constraint
-          List<Course> currentAssignments = facultyAssignments.getOrDefault(faculty.getId(), new ArrayList<>());
-          if (currentAssignments.size() >= 2) {
-            return false;
-          }
-
-          // Check max hours constraint
-          int currentHours = facultyHoursUsed.getOrDefault(faculty.getId(), 0);
-          if (currentHours + course.getHoursRequiredPerWeek() > faculty.getMaxHoursPerWeek()) {
-            return false;
-          }
-
-          // Check if course is already assigned to this faculty
-          if (course.getTaughtBy() != null && course.getTaughtBy().contains(faculty)) {
-            return false;
-          }
-
-          return true;
-        })
-        .toList();
-
-    if (validCandidates.isEmpty()) {
-      return null;
+    context.finish();
+    log.info("Solved term {} with {} in {} ms: {} assigned, {} unassigned",
+        snapshot.getTermId(), strategy.name(), context.elapsedMillis(),
+        plan.getAssignments().size(), plan.getUnassignedCourseIds().size());
+    if (!context.isCancelled()) {
+      measureOptimality(strategy, snapshot, model, plan, context);
     }
+    List<SolverContext.ObjectivePoint> trajectory = context.trajectory();
+    if (!trajectory.isEmpty()) {
+      log.info("Objective for term {}: {} -> {} over {} improvements", snapshot.getTermId(),
+          trajectory.get(0), trajectory.get(trajectory.size() - 1), trajectory.size() - 1);
+    }
+    return plan;
+  }
 
-    // Rank by priority criteria
-    validCandidates.sort((c1, c2) -> {
-      Faculty f1 = c1.faculty;
-      Faculty f2 = c2.faculty;
-
-      // Priority 1: Seniority (lower seniorityScore = higher priority)
-      int seniorityCompare = Integer.compare(f1.getSeniorityScore(), f2.getSeniorityScore());
-      if (seniorityCompare != 0) {
-        return seniorityCompare;
-      }
+  // Compares the plan with a lower bound on the term's objective, after the clock has stopped,
+  // so the bound does not count as solve time
+  private void measureOptimality(AssignmentStrategy strategy, TermSnapshot snapshot, SolverModel model,
+      AssignmentPlan plan, SolverContext context) {
+    long start = System.nanoTime();
+    SolverContext.Optimality optimality = model.optimalityOf(plan);
+    context.recordOptimality(optimality);
+    DistributionSummary.builder("dtltm.assignment.optimality.gap")
+        .description("Relative gap between a plan's objective and the term's lower bound")
+        .tag("strategy", strategy.name())
+        .register(meterRegistry)
+        .record(optimality.getGap());
+    log.info("Optimality for term {} with {}: objective {}, lower bound {}, gap {}% (bound in {} ms)",
+        snapshot.getTermId(), strategy.name(), optimality.getObjective(), optimality.getLowerBound(),
+        String.format("%.2f", optimality.getGap() * 100), (System.nanoTime() - start) / 1_000_000);
+  }
 
-      // Priority 2: Rating (higher rating = higher priority)
-      int ratingCompare = Double.compare(f2.getRating(), f1.getRating());
-      if (ratingCompare != 0) {
-        return ratingCompare;
-      }
+  // Writes the plan back, triggers the LLM fallback and records the run, all in one transaction
+  @Transactional
+  public AppliedPlan applyPlan(TermSnapshot snapshot, AssignmentPlan plan, String strategyName,
+      SolverContext context) {
+    return new AppliedPlan(snapshot, persistPlan(snapshot, plan, strategyName, context), context.optimality());
+  }
 
-      // Priority 3: Max hours available (more available = higher priority)
-      int hours1 = f1.getMaxHoursPerWeek() - facultyHoursUsed.getOrDefault(f1.getId(), 0);
-      int hours2 = f2.getMaxHoursPerWeek() - facultyHoursUsed.getOrDefault(f2.getId(), 0);
-      int hoursCompare = Integer.compare(hours2, hours1);
-      if (hoursCompare != 0) {
-        return hoursCompare;
+  // Returns the plan as recorded: the solver's plan plus the courses the LLM fallback assigned
+  // from cached decisions
+  private AssignmentPlan persistPlan(TermSnapshot snapshot, AssignmentPlan plan, String strategyName,
+      SolverContext context) {
+    // Write only the links course_faculty does not have yet, in one batched pass
+    List<CourseFacultyJdbcRepository.Link> newLinks = new ArrayList<>();
+    for (AssignmentPlan.Assignment assignment : plan.getAssignments()) {
+      if (!snapshot.teachersOf(assignment.getCourseId()).contains(assignment.getFacultyId())) {
+        newLinks.add(toLink(assignment));
       }
+    }
+    courseFacultyJdbcRepository.insertLinks(newLinks);
 
-      // Tie-breaker: Preference rank (lower rank = higher priority)
-      return Integer.compare(c1.preferenceRank, c2.preferenceRank);
-    });
+    // Trigger LLM fallback for every unassigned course, with all faculties interested in it
+    AssignmentPlan applied = plan.withAssigned(
+        llmFallbackService.dispatch(snapshot, new HashSet<>(plan.getUnassignedCourseIds())));
 
-    return validCandidates.get(0); // Return best candidate
+    assignmentRunService.record(snapshot, applied, strategyName, context);
+    return applied;
   }
 
-  // Helper class to track faculty candidates for a course
-  private static class FacultyCandidate {
-    final Faculty faculty;
-    final UUID preferenceSetId;
-    final Integer preferenceRank;
+  // Returns the diff as applied, with the courses the LLM fallback assigned from cached decisions
+  private AssignmentDiff applyDiff(TermSnapshot snapshot, AssignmentDiff diff) {
+    Set<UUID> touched = new HashSet<>();
+    diff.getAdded().forEach(a -> touched.add(a.getCourseId()));
+    diff.getRemoved().forEach(a -> touched.add(a.getCourseId()));
+    courseFacultyJdbcRepository.deleteLinks(diff.getRemoved().stream().map(this::toLink).toList());
+    courseFacultyJdbcRepository.insertLinks(diff.getAdded().stream().map(this::toLink).toList());
+
+    // Only courses this repair left without a teacher go to the LLM; older ones were sent already
+    Set<UUID> newlyUnassigned = new HashSet<>(diff.getPlan().getUnassignedCourseIds());
+    newlyUnassigned.retainAll(touched);
+    return diff.withAssigned(llmFallbackService.dispatch(snapshot, newlyUnassigned));
+  }
 
-    FacultyCandidate(Faculty faculty, UUID preferenceSetId, Integer preferenceRank) {
-      this.faculty = faculty;
-      this.preferenceSetId = preferenceSetId;
-      this.preferenceRank = preferenceRank;
-    }
+  private CourseFacultyJdbcRepository.Link toLink(AssignmentPlan.Assignment assignment) {
+    return new CourseFacultyJdbcRepository.Link(assignment.getCourseId(), assignment.getFacultyId());
   }
 
-  private Integer getPreferenceRank(UUID preferenceSetId, UUID courseId) {
-    List<FacultyCoursePreference> preferences = facultyCoursePreferenceRepository
-        .findByPreferenceSet_IdOrderByRankAsc(preferenceSetId);
-    for (FacultyCoursePreference pref : preferences) {
-      if (pref.getCourse().getId().equals(courseId)) {
-        return pref.getRank();
-      }
-    }
-    return null;
+  private AssignmentDeltaResponse toDeltaResponse(TermSnapshot snapshot, AssignmentDiff diff, long elapsedMs) {
+    return AssignmentDeltaResponse.builder()
+        .termId(snapshot.getTermId())
+        .added(AssignmentPlanMapper.toChanges(snapshot, diff.getAdded()))
+        .removed(AssignmentPlanMapper.toChanges(snapshot, diff.getRemoved()))
+        .unassignedCourseIds(diff.getPlan().getUnassignedCourseIds())
+        .elapsedMs(elapsedMs)
+        .build();
   }
 
+  // Without page and size the whole list comes back in one unpaged query
   @Transactional(readOnly = true)
-  public List<Course> getUnassignedCourses(UUID termId) {
-    List<PreferenceSet> preferenceSets = preferenceSetRepository.findByTerm_Id(termId)
-        .stream()
-        .filter(set -> set.getStatus() == Status.CLOSED)
-        .toList();
-
-    Set<UUID> courseIds = new HashSet<>();
-    for (PreferenceSet set : preferenceSets) {
-      List<FacultyCoursePreference> preferences = facultyCoursePreferenceRepository
-          .findByPreferenceSet_IdOrderByRankAsc(set.getId());
-      for (FacultyCoursePreference pref : preferences) {
-        courseIds.add(pref.getCourse().getId());
+  public Page<CourseSummary> getUnassignedCourses(UUID termId, Integer page, Integer size) {
+    Pageable pageable = Pageable.unpaged();
+    if (page != null || size != null) {
+      int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+      if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+        throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
       }
+      if (page != null && page < 0) {
+        throw new BadRequestException("Page must not be negative");
+      }
+      pageable = PageRequest.of(page != null ? page : 0, pageSize);
     }
-
-    List<Course> allCourses = courseRepository.findAllById(courseIds);
-    return allCourses.stream()
-        .filter(course -> course.getTaughtBy() == null || course.getTaughtBy().isEmpty())
-        .toList();
+    return courseRepository.findUnassignedInTerm(termId, Status.CLOSED, pageable);
   }
 
   @Transactional(readOnly = true)
@@ -309,10 +283,7 @@ public class AssignmentService {
     }
 
     // Get all courses this faculty teaches
-    List<Course> allCourses = courseRepository.findAll();
-    return allCourses.stream()
-        .filter(course -> course.getTaughtBy() != null && course.getTaughtBy().contains(faculty))
-        .toList();
+    return courseRepository.findTaughtBy(faculty.getId());
   }
 
   @Transactional
@@ -327,35 +298,23 @@ public class AssignmentService {
     }
 
     // Check constraints
-    if (courses.size() > 2) {
-      throw new BadRequestException("Faculty cannot be assigned more than 2 courses");
+    if (courses.size() > assignmentLimits.maxCourses(faculty)) {
+      throw new BadRequestException(
+          "Faculty cannot be assigned more than " + assignmentLimits.maxCourses(faculty) + " courses");
     }
 
     int totalHours = courses.stream()
         .mapToInt(Course::getHoursRequiredPerWeek)
         .sum();
-    if (totalHours > faculty.getMaxHoursPerWeek()) {
+    if (totalHours > assignmentLimits.maxHours(faculty)) {
       throw new BadRequestException("Total hours exceed faculty's max hours per week");
     }
 
-    // Remove faculty from all current course assignments
-    List<Course> allCourses = courseRepository.findAll();
-    for (Course course : allCourses) {
-      if (course.getTaughtBy() != null && course.getTaughtBy().contains(faculty)) {
-        course.getTaughtBy().remove(faculty);
-        courseRepository.save(course);
-      }
-    }
-
-    // Assign new courses
-    for (Course course : courses) {
-      List<Faculty> currentTeachers = course.getTaughtBy() != null ? course.getTaughtBy() : new ArrayList<>();
-      if (!currentTeachers.contains(faculty)) {
-        currentTeachers.add(faculty);
-        course.setTaughtBy(currentTeachers);
-        courseRepository.save(course);
-      }
-    }
+    // Remove faculty from all current course assignments, then assign the new courses
+    courseFacultyJdbcRepository.deleteAllOfFaculty(faculty.getId());
+    courseFacultyJdbcRepository.insertLinks(courses.stream()
+        .map(course -> new CourseFacultyJdbcRepository.Link(course.getId(), faculty.getId()))
+        .toList());
   }
 
   @Transactional
@@ -369,44 +328,77 @@ public class AssignmentService {
     }
   }
 
+  // Only a recommendation needs the faculty and course to exist; a "no" for a missing one is
+  // skipped like in a batch
   @Transactional
   public void processLLMResult(UUID facultyId, UUID courseId, Boolean recommended) {
-    if (!recommended) {
-      return; // LLM doesn't recommend, leave unassigned
+    if (Boolean.TRUE.equals(recommended)) {
+      if (!facultyRepository.existsById(facultyId)) {
+        throw new BadRequestException("Faculty not found");
+      }
+      if (!courseRepository.existsById(courseId)) {
+        throw new BadRequestException("Course not found");
+      }
     }
+    LLMResultRequest result = new LLMResultRequest();
+    result.setFacultyId(facultyId);
+    result.setCourseId(courseId);
+    result.setRecommended(recommended);
+    processLLMResults(List.of(result));
+  }
 
-    Faculty faculty = facultyRepository.findById(facultyId)
-        .orElseThrow(() -> new BadRequestException("Faculty not found"));
-    Course course = courseRepository.findById(courseId)
-        .orElseThrow(() -> new BadRequestException("Course not found"));
-
-    // Check constraints before assigning - get current assignments
-    List<Course> allCourses = courseRepository.findAll();
-    List<Course> currentAssignments = allCourses.stream()
-        .filter(c -> c.getTaughtBy() != null && c.getTaughtBy().contains(faculty))
-        .toList();
-    
-    if (currentAssignments.size() >= 2) {
-      log.warn("Cannot assign course {} to faculty {}: already has 2 courses", courseId, facultyId);
-      return;
-    }
+  // Applies LLM answers in the order given, in one transaction. Every answer is cached, so the
+  // same pair is not sent to the LLM again (see LLMFallbackService); a recommended one assigns
+  // the course if the faculty still has room after the answers before it. The affected
+  // faculties' loads come from one query and are kept up to date in memory.
+  // Answers naming a faculty or course that no longer exists are skipped.
+  // Returns how many links were added, or CourseFacultyJdbcRepository.UNKNOWN_COUNT.
+  @Transactional
+  public int processLLMResults(List<LLMResultRequest> results) {
+    Map<UUID, Faculty> faculties = new HashMap<>();
+    facultyRepository.findAllById(results.stream().map(LLMResultRequest::getFacultyId).collect(Collectors.toSet()))
+        .forEach(faculty -> faculties.put(faculty.getId(), faculty));
+    Map<UUID, Course> courses = new HashMap<>();
+    courseRepository.findAllById(results.stream().map(LLMResultRequest::getCourseId).collect(Collectors.toSet()))
+        .forEach(course -> courses.put(course.getId(), course));
+
+    FacultyLoads loads = FacultyLoads.of(courseRepository, faculties.keySet());
+    List<LLMDecision> decisions = new ArrayList<>(results.size());
+    List<CourseFacultyJdbcRepository.Link> newLinks = new ArrayList<>();
+    for (LLMResultRequest result : results) {
+      Faculty faculty = faculties.get(result.getFacultyId());
+      Course course = courses.get(result.getCourseId());
+      if (faculty == null || course == null) {
+        log.warn("Skipping LLM result for faculty {} and course {}: not found",
+            result.getFacultyId(), result.getCourseId());
+        continue;
+      }
+      decisions.add(LLMDecisionService.toDecision(faculty, course, result.getRecommended()));
+      if (!result.getRecommended()) {
+        continue; // LLM doesn't recommend, leave unassigned
+      }
 
-    int currentHours = currentAssignments.stream()
-        .mapToInt(Course::getHoursRequiredPerWeek)
-        .sum();
-    if (currentHours + course.getHoursRequiredPerWeek() > faculty.getMaxHoursPerWeek()) {
-      log.warn("Cannot assign course {} to faculty {}: exceeds max hours", courseId, facultyId);
-      return;
+      CourseFacultyJdbcRepository.Link link = new CourseFacultyJdbcRepository.Link(course.getId(), faculty.getId());
+      if (loads.teaches(link)) {
+        continue;
+      }
+      if (loads.courseCount(faculty.getId()) >= assignmentLimits.maxCourses(faculty)) {
+        log.warn("Cannot assign course {} to faculty {}: already has {} courses",
+            course.getId(), faculty.getId(), loads.courseCount(faculty.getId()));
+        continue;
+      }
+      if (loads.hoursUsed(faculty.getId()) + course.getHoursRequiredPerWeek() > assignmentLimits.maxHours(faculty)) {
+        log.warn("Cannot assign course {} to faculty {}: exceeds max hours", course.getId(), faculty.getId());
+        continue;
+      }
+      loads.add(link, course.getHoursRequiredPerWeek());
+      newLinks.add(link);
     }
 
-    // Assign course
-    List<Faculty> currentTeachers = course.getTaughtBy() != null ? course.getTaughtBy() : new ArrayList<>();
-    if (!currentTeachers.contains(faculty)) {
-      currentTeachers.add(faculty);
-      course.setTaughtBy(currentTeachers);
-      courseRepository.save(course);
-      log.info("Assigned course {} to faculty {} via LLM recommendation", courseId, facultyId);
-    }
+    llmDecisionService.recordAll(decisions);
+    int inserted = courseFacultyJdbcRepository.insertLinks(newLinks);
+    log.info("Applied {} LLM results: {} recorded, {} courses assigned", results.size(), decisions.size(), inserted);
+    return inserted;
   }
 }
 
@@ -0,0 +1,127 @@
+package edu.thapar.dtltm.service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import edu.thapar.dtltm.dto.AssignmentScenario;
+import edu.thapar.dtltm.dto.AssignmentSimulationResponse;
+import edu.thapar.dtltm.dto.AssignmentSimulationResponse.ScenarioResult;
+import edu.thapar.dtltm.exception.BadRequestException;
+import edu.thapar.dtltm.mapper.AssignmentPlanMapper;
+import edu.thapar.dtltm.service.assignment.AssignmentDiff;
+import edu.thapar.dtltm.service.assignment.AssignmentLimits;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategy;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategyRegistry;
+import edu.thapar.dtltm.service.assignment.SolverContext;
+import edu.thapar.dtltm.service.assignment.SolverModel;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import lombok.extern.slf4j.Slf4j;
+
+// What-if runs: never writes course_faculty, never records a run, never publishes to Kafka.
+// The term is loaded and compiled once; every scenario is a copy-on-write variant of that model,
+// solved concurrently on the batch executor and compared with the current assignment.
+@Service
+@Slf4j
+public class AssignmentSimulationService {
+  private final AssignmentService assignmentService;
+  private final AssignmentStrategyRegistry strategyRegistry;
+  private final AssignmentLimits assignmentLimits;
+  private final ThreadPoolTaskExecutor executor;
+  private final int parallelism;
+
+  public AssignmentSimulationService(
+      AssignmentService assignmentService,
+      AssignmentStrategyRegistry strategyRegistry,
+      AssignmentLimits assignmentLimits,
+      ThreadPoolTaskExecutor assignmentBatchExecutor,
+      @Value("${dtltm.assignment.batch.parallelism:4}") int parallelism) {
+    this.assignmentService = assignmentService;
+    this.strategyRegistry = strategyRegistry;
+    this.assignmentLimits = assignmentLimits;
+    this.executor = assignmentBatchExecutor;
+    this.parallelism = parallelism;
+  }
+
+  public AssignmentSimulationResponse simulate(UUID termId, String strategyName, Duration timeBudget,
+      List<AssignmentScenario> scenarios) {
+    AssignmentStrategy strategy = strategyRegistry.get(strategyName);
+    long start = System.nanoTime();
+
+    TermSnapshot snapshot = assignmentService.loadSnapshot(termId);
+    scenarios.forEach(scenario -> validate(snapshot, scenario));
+
+    // Re-solve from scratch like /delta does: the current plan's own links must not count as
+    // "already teaches", otherwise every scenario would have to move every course
+    AssignmentPlan current = snapshot.currentPlan();
+    SolverModel model = SolverModel.compile(snapshot.withoutTeachers(current.getAssignments()));
+
+    ScenarioResult[] results = new ScenarioResult[scenarios.size()];
+    ParallelSolves.run(executor, parallelism, scenarios.size(),
+        i -> results[i] = evaluate(snapshot, model, current, scenarios.get(i), strategy, timeBudget));
+
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+    log.info("Simulated {} scenarios for term {} with {} in {} ms",
+        scenarios.size(), termId, strategy.name(), elapsedMs);
+    return AssignmentSimulationResponse.builder()
+        .termId(termId)
+        .strategy(strategy.name())
+        .elapsedMs(elapsedMs)
+        .scenarios(List.of(results))
+        .build();
+  }
+
+  private ScenarioResult evaluate(TermSnapshot snapshot, SolverModel model, AssignmentPlan current,
+      AssignmentScenario scenario, AssignmentStrategy strategy, Duration timeBudget) {
+    SolverModel variant = model
+        .withMaxHours(scenario.getMaxHoursPerWeek(), assignmentLimits)
+        .withoutCourses(scenario.getDroppedCourseIds());
+    SolverContext context = SolverContext.withBudget(timeBudget);
+    AssignmentPlan plan = strategy.solve(variant, context);
+    context.finish();
+
+    AssignmentDiff diff = AssignmentDiff.between(current, plan);
+    return ScenarioResult.builder()
+        .name(scenario.getName())
+        .assignedCount(plan.getAssignments().size())
+        .unassignedCount(plan.getUnassignedCourseIds().size())
+        .assignments(AssignmentPlanMapper.toDTOs(snapshot, plan))
+        .added(AssignmentPlanMapper.toChanges(snapshot, diff.getAdded()))
+        .removed(AssignmentPlanMapper.toChanges(snapshot, diff.getRemoved()))
+        .unassignedCourseIds(plan.getUnassignedCourseIds())
+        .solveMs(context.elapsedMillis())
+        .build();
+  }
+
+  // Overrides must name faculties and courses of this term, or the scenario would silently be a no-op
+  private void validate(TermSnapshot snapshot, AssignmentScenario scenario) {
+    Set<UUID> facultyIds = new HashSet<>();
+    for (FacultyInfo faculty : snapshot.getFaculties()) {
+      facultyIds.add(faculty.getId());
+    }
+    Set<UUID> courseIds = new HashSet<>();
+    for (CourseInfo course : snapshot.getCourses()) {
+      courseIds.add(course.getId());
+    }
+    String label = scenario.getName() != null ? "Scenario '" + scenario.getName() + "': " : "";
+    for (UUID facultyId : scenario.getMaxHoursPerWeek().keySet()) {
+      if (!facultyIds.contains(facultyId)) {
+        throw new BadRequestException(label + "faculty " + facultyId + " has no closed preference set for the term");
+      }
+    }
+    for (UUID courseId : scenario.getDroppedCourseIds()) {
+      if (!courseIds.contains(courseId)) {
+        throw new BadRequestException(label + "course " + courseId + " is not ranked in the term");
+      }
+    }
+  }
+}
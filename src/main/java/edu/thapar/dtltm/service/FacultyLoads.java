@@ -0,0 +1,62 @@
+package edu.thapar.dtltm.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import edu.thapar.dtltm.repository.CourseFacultyJdbcRepository.Link;
+import edu.thapar.dtltm.repository.CourseRepository;
+
+// The courses and hours some faculties teach now, read in one query and kept up to date in
+// memory as links are added, so applying many answers in a row costs no query per answer
+final class FacultyLoads {
+  // Per faculty: {courses, hours}
+  private final Map<UUID, int[]> loads = new HashMap<>();
+  private final Set<Link> taught = new HashSet<>();
+
+  private FacultyLoads() {
+  }
+
+  static FacultyLoads of(CourseRepository courseRepository, Collection<UUID> facultyIds) {
+    FacultyLoads loads = new FacultyLoads();
+    if (!facultyIds.isEmpty()) {
+      for (CourseRepository.TaughtCourse row : courseRepository.findTaughtByAny(facultyIds)) {
+        loads.add(new Link(row.getCourseId(), row.getFacultyId()),
+            row.getHoursRequiredPerWeek() != null ? row.getHoursRequiredPerWeek() : 0);
+      }
+    }
+    return loads;
+  }
+
+  boolean teaches(Link link) {
+    return taught.contains(link);
+  }
+
+  int courseCount(UUID facultyId) {
+    return load(facultyId)[0];
+  }
+
+  int hoursUsed(UUID facultyId) {
+    return load(facultyId)[1];
+  }
+
+  boolean fits(UUID facultyId, int courseHours, int maxCourses, int maxHours) {
+    int[] load = load(facultyId);
+    return load[0] < maxCourses && load[1] + courseHours <= maxHours;
+  }
+
+  void add(Link link, int courseHours) {
+    if (taught.add(link)) {
+      int[] load = loads.computeIfAbsent(link.getFacultyId(), id -> new int[2]);
+      load[0]++;
+      load[1] += courseHours;
+    }
+  }
+
+  private int[] load(UUID facultyId) {
+    return loads.getOrDefault(facultyId, new int[2]);
+  }
+}
@@ -0,0 +1,20 @@
+package edu.thapar.dtltm.service;
+
+// 64-bit FNV-1a over whole fields rather than bytes; each field is spread first so small
+// integers still touch every bit. For change detection, not security.
+final class Fnv64 {
+  static final long SEED = 0xcbf29ce484222325L;
+  private static final long PRIME = 0x100000001b3L;
+  private static final long SPREAD = 0x9e3779b97f4a7c15L;
+
+  private Fnv64() {
+  }
+
+  static long mix(long hash, long value) {
+    return (hash ^ (value * SPREAD)) * PRIME;
+  }
+
+  static long mix(long hash, String value) {
+    return mix(hash, value != null ? value.hashCode() : 0);
+  }
+}
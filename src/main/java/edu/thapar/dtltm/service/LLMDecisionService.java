@@ -0,0 +1,80 @@
+package edu.thapar.dtltm.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import edu.thapar.dtltm.model.Course;
+import edu.thapar.dtltm.model.Faculty;
+import edu.thapar.dtltm.model.LLMDecision;
+import edu.thapar.dtltm.repository.LLMDecisionJdbcRepository;
+import edu.thapar.dtltm.repository.LLMDecisionRepository;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import lombok.RequiredArgsConstructor;
+
+// Cache of LLM answers per (faculty, course), filled from the consumer's results. An answer is
+// reused only while the faculty profile and the course content hash to the versions it was
+// given for; editing either makes it stale and the pair is asked again.
+// The versions cover what describes the pair outside of a term: course code, name and hours;
+// faculty name, seniority and rating. Defaults for missing values match the snapshot's.
+@Service
+@RequiredArgsConstructor
+public class LLMDecisionService {
+  private final LLMDecisionRepository llmDecisionRepository;
+  private final LLMDecisionJdbcRepository llmDecisionJdbcRepository;
+
+  public void recordAll(List<LLMDecision> decisions) {
+    llmDecisionJdbcRepository.upsert(decisions);
+  }
+
+  public static LLMDecision toDecision(Faculty faculty, Course course, boolean recommended) {
+    return LLMDecision.builder()
+        .facultyId(faculty.getId())
+        .courseId(course.getId())
+        .facultyVersion(facultyVersion(faculty.getName(),
+            faculty.getSeniorityScore() != null ? faculty.getSeniorityScore() : 1,
+            faculty.getRating() != null ? faculty.getRating() : 1.0))
+        .courseVersion(courseVersion(course.getCode(), course.getName(),
+            course.getHoursRequiredPerWeek() != null ? course.getHoursRequiredPerWeek() : 3))
+        .recommended(recommended)
+        .decidedAt(Instant.now())
+        .build();
+  }
+
+  // Every cached answer about these courses, current or not; see isCurrent
+  public Map<LLMDecision.Key, LLMDecision> findForCourses(Collection<UUID> courseIds) {
+    Map<LLMDecision.Key, LLMDecision> decisions = new HashMap<>();
+    if (courseIds.isEmpty()) {
+      return decisions;
+    }
+    for (LLMDecision decision : llmDecisionRepository.findByCourseIdIn(courseIds)) {
+      decisions.put(new LLMDecision.Key(decision.getFacultyId(), decision.getCourseId()), decision);
+    }
+    return decisions;
+  }
+
+  public static boolean isCurrent(LLMDecision decision, FacultyInfo faculty, CourseInfo course) {
+    return decision.getFacultyVersion() == facultyVersion(faculty.getName(), faculty.getSeniorityScore(),
+        faculty.getRating())
+        && decision.getCourseVersion() == courseVersion(course.getCode(), course.getName(),
+            course.getHoursRequiredPerWeek());
+  }
+
+  private static long facultyVersion(String name, int seniorityScore, double rating) {
+    long hash = Fnv64.mix(Fnv64.SEED, name);
+    hash = Fnv64.mix(hash, seniorityScore);
+    return Fnv64.mix(hash, Double.doubleToLongBits(rating));
+  }
+
+  private static long courseVersion(String code, String name, int hoursRequiredPerWeek) {
+    long hash = Fnv64.mix(Fnv64.SEED, code);
+    hash = Fnv64.mix(hash, name);
+    return Fnv64.mix(hash, hoursRequiredPerWeek);
+  }
+}
@@ -0,0 +1,232 @@
+package edu.thapar.dtltm.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import edu.thapar.dtltm.kafka.AssignmentKafkaProducer;
+import edu.thapar.dtltm.kafka.AssignmentKafkaProducer.Candidate;
+import edu.thapar.dtltm.kafka.AssignmentKafkaProducer.LLMCourseEvent;
+import edu.thapar.dtltm.model.LLMDecision;
+import edu.thapar.dtltm.repository.CourseFacultyJdbcRepository;
+import edu.thapar.dtltm.repository.CourseRepository;
+import edu.thapar.dtltm.repository.LLMFallbackDispatchJdbcRepository;
+import edu.thapar.dtltm.repository.LLMFallbackDispatchJdbcRepository.Dispatch;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Sends the LLM fallback for a term's unassigned courses, one event per course. Re-running a
+// term mostly leaves the same courses unassigned with the same candidates, so each course's
+// last event is remembered (as a hash of its candidates) and an identical one is suppressed
+// while younger than the TTL. After the TTL it is sent again, in case the first one was lost.
+// Before any of that, candidates the LLM has already judged are answered from the decision
+// cache (LLMDecisionService), and a course whose answer is known is not sent at all.
+// Runs within the caller's transaction: if that rolls back, so does the record of what was sent,
+// along with the links made from cached answers.
+@Service
+@Slf4j
+public class LLMFallbackService {
+  private final AssignmentKafkaProducer kafkaProducer;
+  private final LLMFallbackDispatchJdbcRepository dispatchRepository;
+  private final LLMDecisionService llmDecisionService;
+  private final CourseRepository courseRepository;
+  private final CourseFacultyJdbcRepository courseFacultyJdbcRepository;
+  private final Duration dedupTtl;
+  private final Counter publishedEvents;
+  private final Counter suppressedEvents;
+  private final Counter cachedEvents;
+
+  public LLMFallbackService(AssignmentKafkaProducer kafkaProducer,
+      LLMFallbackDispatchJdbcRepository dispatchRepository,
+      LLMDecisionService llmDecisionService,
+      CourseRepository courseRepository,
+      CourseFacultyJdbcRepository courseFacultyJdbcRepository,
+      MeterRegistry meterRegistry,
+      @Value("${dtltm.llm.fallback.dedup-ttl:PT24H}") Duration dedupTtl) {
+    this.kafkaProducer = kafkaProducer;
+    this.dispatchRepository = dispatchRepository;
+    this.llmDecisionService = llmDecisionService;
+    this.courseRepository = courseRepository;
+    this.courseFacultyJdbcRepository = courseFacultyJdbcRepository;
+    this.dedupTtl = dedupTtl;
+    this.publishedEvents = Counter.builder("dtltm.llm.fallback.events")
+        .description("LLM fallback events by outcome: sent, suppressed as unchanged, or answered from cache")
+        .tag("outcome", "published")
+        .register(meterRegistry);
+    this.suppressedEvents = Counter.builder("dtltm.llm.fallback.events")
+        .description("LLM fallback events by outcome: sent, suppressed as unchanged, or answered from cache")
+        .tag("outcome", "suppressed")
+        .register(meterRegistry);
+    this.cachedEvents = Counter.builder("dtltm.llm.fallback.events")
+        .description("LLM fallback events by outcome: sent, suppressed as unchanged, or answered from cache")
+        .tag("outcome", "cached")
+        .register(meterRegistry);
+  }
+
+  // Returns the courses assigned from cached answers. Their links are written already; the
+  // caller adds them to the plan it records and returns (see AssignmentPlan.withAssigned).
+  public List<AssignmentPlan.Assignment> dispatch(TermSnapshot snapshot, Set<UUID> courseIds) {
+    List<LLMCourseEvent> all = toEvents(snapshot, courseIds);
+    if (all.isEmpty()) {
+      return List.of();
+    }
+    List<AssignmentPlan.Assignment> assigned = new ArrayList<>();
+    List<LLMCourseEvent> events = resolveFromCache(snapshot, all, assigned);
+    cachedEvents.increment(all.size() - events.size());
+    if (events.isEmpty()) {
+      return assigned;
+    }
+    Instant now = Instant.now();
+    Instant freshAfter = now.minus(dedupTtl);
+    Map<UUID, Dispatch> previous = dispatchRepository.findOfTerm(snapshot.getTermId());
+
+    List<LLMCourseEvent> changed = new ArrayList<>();
+    List<Dispatch> sent = new ArrayList<>();
+    for (LLMCourseEvent event : events) {
+      long hash = candidatesHash(event.getCandidates());
+      Dispatch last = previous.get(event.getCourseId());
+      if (last != null && last.getCandidateHash() == hash && last.getSentAt().isAfter(freshAfter)) {
+        continue;
+      }
+      changed.add(event);
+      sent.add(new Dispatch(event.getCourseId(), hash, now));
+    }
+    kafkaProducer.sendLLMCourseEvents(changed);
+    dispatchRepository.upsert(snapshot.getTermId(), sent);
+
+    int suppressed = events.size() - changed.size();
+    publishedEvents.increment(changed.size());
+    suppressedEvents.increment(suppressed);
+    if (suppressed > 0) {
+      log.info("Suppressed {} of {} LLM fallback events for term {}: unchanged since last sent",
+          suppressed, events.size(), snapshot.getTermId());
+    }
+    return assigned;
+  }
+
+  // Walks each course's candidates in order, as the consumer would, for as long as the cache
+  // knows the answer: a "no" passes to the next candidate, a "yes" assigns the course here if
+  // the faculty still has room. At the first unknown candidate the course goes to the LLM
+  // after all, with the unknown candidates only. Those after a cached "yes" are left out; if
+  // the LLM turns down all the others, the next run finds the "yes" and applies it.
+  // The loads of every faculty with a cached "yes" come from one query; the links made are
+  // written in one batch and added to assigned.
+  // Returns the events that still need the LLM.
+  private List<LLMCourseEvent> resolveFromCache(TermSnapshot snapshot, List<LLMCourseEvent> events,
+      List<AssignmentPlan.Assignment> assigned) {
+    Map<UUID, FacultyInfo> faculties = new HashMap<>();
+    snapshot.getFaculties().forEach(faculty -> faculties.put(faculty.getId(), faculty));
+    Map<UUID, CourseInfo> courses = new HashMap<>();
+    snapshot.getCourses().forEach(course -> courses.put(course.getId(), course));
+    Map<LLMDecision.Key, LLMDecision> decisions = llmDecisionService.findForCourses(
+        events.stream().map(LLMCourseEvent::getCourseId).toList());
+    Set<UUID> recommended = new HashSet<>();
+    decisions.values().stream()
+        .filter(LLMDecision::getRecommended)
+        .forEach(decision -> recommended.add(decision.getFacultyId()));
+    FacultyLoads loads = FacultyLoads.of(courseRepository, recommended);
+
+    List<LLMCourseEvent> unresolved = new ArrayList<>();
+    List<CourseFacultyJdbcRepository.Link> newLinks = new ArrayList<>();
+    for (LLMCourseEvent event : events) {
+      CourseInfo course = courses.get(event.getCourseId());
+      List<Candidate> unknown = new ArrayList<>();
+      for (Candidate candidate : event.getCandidates()) {
+        FacultyInfo faculty = faculties.get(candidate.getFacultyId());
+        LLMDecision decision = decisions.get(new LLMDecision.Key(faculty.getId(), course.getId()));
+        if (decision == null || !LLMDecisionService.isCurrent(decision, faculty, course)) {
+          unknown.add(candidate);
+          continue;
+        }
+        if (!decision.getRecommended()) {
+          continue;
+        }
+        if (!unknown.isEmpty()) {
+          break;
+        }
+        CourseFacultyJdbcRepository.Link link = new CourseFacultyJdbcRepository.Link(course.getId(), faculty.getId());
+        if (!loads.teaches(link)) {
+          if (!loads.fits(faculty.getId(), course.getHoursRequiredPerWeek(), faculty.getMaxCourses(),
+              faculty.getMaxHoursPerWeek())) {
+            log.warn("Cannot assign course {} to faculty {} from cached LLM decision: over their limits",
+                course.getId(), faculty.getId());
+            continue;
+          }
+          loads.add(link, course.getHoursRequiredPerWeek());
+          newLinks.add(link);
+        }
+        assigned.add(new AssignmentPlan.Assignment(faculty.getId(), course.getId(), candidate.getPreferenceRank()));
+        break;
+      }
+      // A course assigned here never has unknown candidates before its "yes"
+      if (!unknown.isEmpty()) {
+        unresolved.add(new LLMCourseEvent(event.getTermId(), event.getCourseId(), unknown));
+      }
+    }
+    courseFacultyJdbcRepository.insertLinks(newLinks);
+    if (unresolved.size() < events.size()) {
+      log.info("Answered {} of {} LLM fallback courses for term {} from cached decisions, {} assigned",
+          events.size() - unresolved.size(), events.size(), snapshot.getTermId(), assigned.size());
+    }
+    return unresolved;
+  }
+
+  // Candidates in the greedy's priority order: seniority, rating, then preference rank.
+  // Courses follow the snapshot's order.
+  private static List<LLMCourseEvent> toEvents(TermSnapshot snapshot, Set<UUID> courseIds) {
+    if (courseIds.isEmpty()) {
+      return List.of();
+    }
+    Map<UUID, FacultyInfo> faculties = new HashMap<>();
+    snapshot.getFaculties().forEach(faculty -> faculties.put(faculty.getId(), faculty));
+    Map<UUID, List<Candidate>> candidates = new HashMap<>();
+    for (PreferenceInfo pref : snapshot.getPreferences()) {
+      if (courseIds.contains(pref.getCourseId())) {
+        FacultyInfo faculty = faculties.get(pref.getFacultyId());
+        candidates.computeIfAbsent(pref.getCourseId(), id -> new ArrayList<>())
+            .add(new Candidate(faculty.getId(), pref.getRank(), faculty.getSeniorityScore(), faculty.getRating()));
+      }
+    }
+    Comparator<Candidate> priority = Comparator.comparing(Candidate::getSeniorityScore)
+        .thenComparing(Candidate::getRating, Comparator.reverseOrder())
+        .thenComparing(Candidate::getPreferenceRank);
+    List<LLMCourseEvent> events = new ArrayList<>(candidates.size());
+    for (CourseInfo course : snapshot.getCourses()) {
+      List<Candidate> ranked = candidates.get(course.getId());
+      if (ranked != null) {
+        ranked.sort(priority);
+        events.add(new LLMCourseEvent(snapshot.getTermId(), course.getId(), ranked));
+      }
+    }
+    return events;
+  }
+
+  // In list order: reordering the candidates changes it too
+  private static long candidatesHash(List<Candidate> candidates) {
+    long hash = Fnv64.SEED;
+    for (Candidate candidate : candidates) {
+      hash = Fnv64.mix(hash, candidate.getFacultyId().getMostSignificantBits());
+      hash = Fnv64.mix(hash, candidate.getFacultyId().getLeastSignificantBits());
+      hash = Fnv64.mix(hash, candidate.getPreferenceRank());
+      hash = Fnv64.mix(hash, candidate.getSeniorityScore());
+      hash = Fnv64.mix(hash, Double.doubleToLongBits(candidate.getRating()));
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,43 @@
+package edu.thapar.dtltm.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import edu.thapar.dtltm.exception.ConflictException;
+
+// Runs task(0) .. task(count - 1) on a shared executor with at most `workers` of them at once:
+// each worker keeps taking the next index until none are left. Returns when all have finished.
+// Tasks should catch their own failures; results written by a task are visible after return.
+final class ParallelSolves {
+  private ParallelSolves() {
+  }
+
+  static void run(ThreadPoolTaskExecutor executor, int workers, int count, IntConsumer task) {
+    AtomicInteger next = new AtomicInteger();
+    Runnable worker = () -> {
+      for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+        task.accept(i);
+      }
+    };
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int w = 0; w < Math.min(workers, count); w++) {
+      try {
+        futures.add(CompletableFuture.runAsync(worker, executor));
+      } catch (TaskRejectedException e) {
+        // Other runs hold the pool; carry on with the workers we got
+        break;
+      }
+    }
+    if (futures.isEmpty() && count > 0) {
+      throw new ConflictException("Too many assignment runs are in progress, try again later");
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+  }
+}
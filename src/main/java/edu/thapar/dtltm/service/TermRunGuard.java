@@ -0,0 +1,65 @@
+package edu.thapar.dtltm.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import edu.thapar.dtltm.exception.ConflictException;
+
+// At most one assignment run per term at a time, whichever endpoint started it (/run, /jobs,
+// /delta, /batch), so two runs never write the same term's course_faculty concurrently.
+// Held in memory, so it covers the runs of this instance only.
+@Component
+public class TermRunGuard {
+  // termId -> description of the run holding it
+  private final Map<UUID, String> holders = new ConcurrentHashMap<>();
+
+  // Throws ConflictException naming the run that already holds the term
+  public void acquire(UUID termId, String holder) {
+    String active = holders.putIfAbsent(termId, holder);
+    if (active != null) {
+      throw new ConflictException("An assignment is already running for this term: " + active);
+    }
+  }
+
+  // All or none: on a conflict the terms taken so far are released again
+  public void acquireAll(Collection<UUID> termIds, String holder) {
+    List<UUID> acquired = new ArrayList<>(termIds.size());
+    try {
+      for (UUID termId : termIds) {
+        acquire(termId, holder);
+        acquired.add(termId);
+      }
+    } catch (ConflictException e) {
+      releaseAll(acquired, holder);
+      throw e;
+    }
+  }
+
+  // Held until the current transaction has committed or rolled back, so the next run of the
+  // term reads what this one wrote
+  public void acquireForTransaction(UUID termId, String holder) {
+    acquire(termId, holder);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        release(termId, holder);
+      }
+    });
+  }
+
+  public void release(UUID termId, String holder) {
+    holders.remove(termId, holder);
+  }
+
+  public void releaseAll(Collection<UUID> termIds, String holder) {
+    termIds.forEach(termId -> release(termId, holder));
+  }
+}
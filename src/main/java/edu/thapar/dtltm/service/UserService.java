@@ -5,9 +5,11 @@ import java.util.Optional;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import edu.thapar.dtltm.dto.UserRequestDTO;
+import edu.thapar.dtltm.kafka.AuthServiceKafkaProducer;
 import edu.thapar.dtltm.model.User;
 import edu.thapar.dtltm.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,11 +19,13 @@ import lombok.RequiredArgsConstructor;
 public class UserService {
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
+  private final AuthServiceKafkaProducer kafkaProducer;
 
   public Optional<User> findByEmail(String email) {
     return userRepository.findByEmail(email);
   }
 
+  @Transactional
   public User createUser(UserRequestDTO userRequestDTO) {
     String email = userRequestDTO.getEmail();
 
@@ -32,11 +36,14 @@ public class UserService {
       );
     }
 
-    return userRepository.save(
+    User user = userRepository.save(
       User.builder()
         .email(email)
         .password(passwordEncoder.encode(userRequestDTO.getPassword()))
         .build()
     );
+    // Queued with the user, so it is sent only if the user (and any faculty around it) commits
+    kafkaProducer.sendUserVerificationEvent(user);
+    return user;
   }
 }
@@ -0,0 +1,12 @@
+package edu.thapar.dtltm.service.assignment;
+
+import lombok.Value;
+
+// A plan that has been written back, with the snapshot it was solved from and how close to
+// optimal it is (null when it was not measured)
+@Value
+public class AppliedPlan {
+  TermSnapshot snapshot;
+  AssignmentPlan plan;
+  SolverContext.Optimality optimality;
+}
@@ -0,0 +1,20 @@
+package edu.thapar.dtltm.service.assignment;
+
+// Cost of giving a course to a faculty; lower is better.
+// Mirrors the greedy priorities: preference rank, then seniority, then rating.
+public final class AssignmentCost {
+  static final int RANK_WEIGHT = 10;
+  static final int SENIORITY_WEIGHT = 6;
+  static final int RATING_WEIGHT = 4;
+
+  private AssignmentCost() {
+  }
+
+  public static int of(int seniorityScore, double rating, int preferenceRank) {
+    int seniority = Math.max(0, seniorityScore - 1);   // 1 is most senior
+    double ratingGap = Math.max(0.0, 5.0 - rating);    // 5.0 is best
+    return preferenceRank * RANK_WEIGHT
+        + seniority * SENIORITY_WEIGHT
+        + (int) Math.round(ratingGap * RATING_WEIGHT);
+  }
+}
@@ -0,0 +1,65 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+import lombok.Value;
+
+// What changes between two plans of the same term, course by course
+@Value
+public class AssignmentDiff {
+  AssignmentPlan plan;
+
+  // Assignments in the new plan that the previous plan did not have
+  List<Assignment> added;
+
+  // Assignments of the previous plan that are gone (course moved to someone else or unassigned)
+  List<Assignment> removed;
+
+  public static AssignmentDiff between(AssignmentPlan previous, AssignmentPlan plan) {
+    Map<UUID, Assignment> before = byCourse(previous);
+    Map<UUID, Assignment> after = byCourse(plan);
+
+    List<Assignment> added = new ArrayList<>();
+    for (Assignment assignment : plan.getAssignments()) {
+      Assignment old = before.get(assignment.getCourseId());
+      if (old == null || !old.getFacultyId().equals(assignment.getFacultyId())) {
+        added.add(assignment);
+      }
+    }
+    List<Assignment> removed = new ArrayList<>();
+    for (Assignment assignment : previous.getAssignments()) {
+      Assignment now = after.get(assignment.getCourseId());
+      if (now == null || !now.getFacultyId().equals(assignment.getFacultyId())) {
+        removed.add(assignment);
+      }
+    }
+    return new AssignmentDiff(plan, List.copyOf(added), List.copyOf(removed));
+  }
+
+  // The plan with more assignments made outside the solver, added to both plan and added
+  public AssignmentDiff withAssigned(List<Assignment> extra) {
+    if (extra.isEmpty()) {
+      return this;
+    }
+    List<Assignment> allAdded = new ArrayList<>(added);
+    allAdded.addAll(extra);
+    return new AssignmentDiff(plan.withAssigned(extra), List.copyOf(allAdded), removed);
+  }
+
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty();
+  }
+
+  private static Map<UUID, Assignment> byCourse(AssignmentPlan plan) {
+    Map<UUID, Assignment> map = new HashMap<>();
+    for (Assignment assignment : plan.getAssignments()) {
+      map.put(assignment.getCourseId(), assignment);
+    }
+    return map;
+  }
+}
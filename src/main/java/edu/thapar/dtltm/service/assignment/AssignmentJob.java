@@ -0,0 +1,97 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import edu.thapar.dtltm.dto.AssignmentResponse;
+import lombok.Getter;
+
+// One background assignment run. Written by the worker thread, read by pollers,
+// so every field that changes after submission is volatile.
+@Getter
+public class AssignmentJob {
+  public enum Phase {
+    QUEUED, LOADING, SOLVING, PERSISTING, DONE, FAILED, CANCELLED;
+
+    public boolean isFinished() {
+      return this == DONE || this == FAILED || this == CANCELLED;
+    }
+  }
+
+  private final UUID id = UUID.randomUUID();
+  private final UUID termId;
+  private final String strategy;
+  private final Duration timeBudget;
+  private final boolean warmStart;
+  private final Instant submittedAt = Instant.now();
+  private final long submittedNanos = System.nanoTime();
+
+  private volatile Phase phase = Phase.QUEUED;
+  private volatile long finishedNanos;
+  private volatile SolverContext context;
+  private volatile boolean cancelRequested;
+  private volatile List<AssignmentResponse> result;
+  private volatile String error;
+
+  public AssignmentJob(UUID termId, String strategy, Duration timeBudget, boolean warmStart) {
+    this.termId = termId;
+    this.strategy = strategy;
+    this.timeBudget = timeBudget;
+    this.warmStart = warmStart;
+  }
+
+  public void enter(Phase next) {
+    phase = next;
+  }
+
+  // The solver context only exists once solving starts; a cancel that came earlier is carried over
+  public synchronized SolverContext startSolving() {
+    SolverContext solverContext = SolverContext.withBudget(timeBudget);
+    if (cancelRequested) {
+      solverContext.cancel();
+    }
+    context = solverContext;
+    phase = Phase.SOLVING;
+    return solverContext;
+  }
+
+  public synchronized void requestCancel() {
+    cancelRequested = true;
+    if (context != null) {
+      context.cancel();
+    }
+  }
+
+  public void complete(List<AssignmentResponse> responses) {
+    result = responses;
+    finish(Phase.DONE);
+  }
+
+  public void fail(String message) {
+    error = message;
+    finish(Phase.FAILED);
+  }
+
+  public void finish(Phase terminal) {
+    finishedNanos = System.nanoTime();
+    phase = terminal;
+  }
+
+  // Loading counts for the first 10%, solving up to 90%, persisting the rest; finished is 100
+  public int percentComplete() {
+    return switch (phase) {
+      case QUEUED -> 0;
+      case LOADING -> 5;
+      case SOLVING -> 10 + (int) (80 * (context != null ? context.progress() : 0));
+      case PERSISTING -> 90;
+      case DONE, FAILED, CANCELLED -> 100;
+    };
+  }
+
+  public long elapsedMillis() {
+    long end = phase.isFinished() ? finishedNanos : System.nanoTime();
+    return (end - submittedNanos) / 1_000_000;
+  }
+}
@@ -0,0 +1,113 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import edu.thapar.dtltm.model.Faculty;
+import lombok.Value;
+
+// How many courses and hours a faculty may take, declared as rules by seniority tier and compiled
+// once into tables indexed by seniority score. The solver never sees the rules: the snapshot
+// loader resolves every faculty's limits up front and the solver reads them from plain arrays,
+// so adding rules costs nothing per candidate. Manual edits and LLM results look up the same
+// tables.
+// A rule applies to the seniority scores minSeniority..maxSeniority and may set maxCourses,
+// maxHoursPerWeek or both (null leaves it unset). Where several rules set a limit the smallest
+// wins; without any, maxCourses is the default and maxHoursPerWeek is the faculty's own.
+// A rule's maxHoursPerWeek only caps the faculty's own value, it never raises it.
+public final class AssignmentLimits {
+  public static final int DEFAULT_MAX_COURSES = 2;
+  // Largest maxCourses a default or rule may set; must stay below Byte.MAX_VALUE, since
+  // SolverState counts each faculty's courses in a byte
+  public static final int MAX_COURSES = 100;
+
+  // Seniority scores the Faculty entity allows; anything else gets the defaults
+  private static final int MIN_SENIORITY = 1;
+  private static final int MAX_SENIORITY = 5;
+  // Same fallbacks as the snapshot uses for missing values
+  private static final int DEFAULT_SENIORITY = 1;
+  private static final int DEFAULT_MAX_HOURS = 20;
+  private static final int NO_CAP = Integer.MAX_VALUE;
+
+  private final int defaultMaxCourses;
+  // Indexed by seniority score - MIN_SENIORITY
+  private final int[] maxCourses;
+  private final int[] hoursCap;
+
+  @Value
+  public static class Rule {
+    int minSeniority;
+    int maxSeniority;
+    Integer maxCourses;
+    Integer maxHoursPerWeek;
+  }
+
+  private AssignmentLimits(int defaultMaxCourses, int[] maxCourses, int[] hoursCap) {
+    this.defaultMaxCourses = defaultMaxCourses;
+    this.maxCourses = maxCourses;
+    this.hoursCap = hoursCap;
+  }
+
+  public static AssignmentLimits compile(int defaultMaxCourses, List<Rule> rules) {
+    checkMaxCourses(defaultMaxCourses);
+    rules.stream().map(Rule::getMaxCourses).filter(Objects::nonNull).forEach(AssignmentLimits::checkMaxCourses);
+    int tiers = MAX_SENIORITY - MIN_SENIORITY + 1;
+    int[] maxCourses = new int[tiers];
+    int[] hoursCap = new int[tiers];
+    Arrays.fill(maxCourses, NO_CAP);
+    Arrays.fill(hoursCap, NO_CAP);
+    for (Rule rule : rules) {
+      int from = Math.max(rule.getMinSeniority(), MIN_SENIORITY);
+      int to = Math.min(rule.getMaxSeniority(), MAX_SENIORITY);
+      for (int seniority = from; seniority <= to; seniority++) {
+        int i = seniority - MIN_SENIORITY;
+        if (rule.getMaxCourses() != null) {
+          maxCourses[i] = Math.min(maxCourses[i], rule.getMaxCourses());
+        }
+        if (rule.getMaxHoursPerWeek() != null) {
+          hoursCap[i] = Math.min(hoursCap[i], rule.getMaxHoursPerWeek());
+        }
+      }
+    }
+    for (int i = 0; i < tiers; i++) {
+      if (maxCourses[i] == NO_CAP) {
+        maxCourses[i] = defaultMaxCourses;
+      }
+    }
+    return new AssignmentLimits(defaultMaxCourses, maxCourses, hoursCap);
+  }
+
+  private static void checkMaxCourses(int maxCourses) {
+    if (maxCourses < 0 || maxCourses > MAX_COURSES) {
+      throw new IllegalArgumentException("maxCourses must be between 0 and " + MAX_COURSES + ", was " + maxCourses);
+    }
+  }
+
+  public int maxCourses(int seniorityScore) {
+    return inRange(seniorityScore) ? maxCourses[seniorityScore - MIN_SENIORITY] : defaultMaxCourses;
+  }
+
+  public int maxHours(int seniorityScore, int facultyMaxHours) {
+    return inRange(seniorityScore)
+        ? Math.min(facultyMaxHours, hoursCap[seniorityScore - MIN_SENIORITY])
+        : facultyMaxHours;
+  }
+
+  public int maxCourses(Faculty faculty) {
+    return maxCourses(seniorityOf(faculty));
+  }
+
+  public int maxHours(Faculty faculty) {
+    return maxHours(seniorityOf(faculty),
+        faculty.getMaxHoursPerWeek() != null ? faculty.getMaxHoursPerWeek() : DEFAULT_MAX_HOURS);
+  }
+
+  private static int seniorityOf(Faculty faculty) {
+    return faculty.getSeniorityScore() != null ? faculty.getSeniorityScore() : DEFAULT_SENIORITY;
+  }
+
+  private static boolean inRange(int seniorityScore) {
+    return seniorityScore >= MIN_SENIORITY && seniorityScore <= MAX_SENIORITY;
+  }
+}
@@ -0,0 +1,35 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.Value;
+
+// Result of one solver run: which faculty takes which course, and what is left over
+@Value
+public class AssignmentPlan {
+  List<Assignment> assignments;
+  List<UUID> unassignedCourseIds;
+
+  // This plan with more assignments (for courses it left unassigned) made outside the solver
+  public AssignmentPlan withAssigned(List<Assignment> extra) {
+    if (extra.isEmpty()) {
+      return this;
+    }
+    List<Assignment> all = new ArrayList<>(assignments);
+    all.addAll(extra);
+    Set<UUID> nowAssigned = new HashSet<>();
+    extra.forEach(assignment -> nowAssigned.add(assignment.getCourseId()));
+    return new AssignmentPlan(all, unassignedCourseIds.stream().filter(id -> !nowAssigned.contains(id)).toList());
+  }
+
+  @Value
+  public static class Assignment {
+    UUID facultyId;
+    UUID courseId;
+    int preferenceRank;
+  }
+}
@@ -0,0 +1,9 @@
+package edu.thapar.dtltm.service.assignment;
+
+// An assignment engine. Implementations are Spring beans looked up by name(),
+// must not touch the database and must treat the model as read-only.
+public interface AssignmentStrategy {
+  String name();
+
+  AssignmentPlan solve(SolverModel model, SolverContext context);
+}
@@ -0,0 +1,45 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.thapar.dtltm.exception.BadRequestException;
+
+@Component
+public class AssignmentStrategyRegistry {
+  private final Map<String, AssignmentStrategy> strategies = new HashMap<>();
+  private final String defaultStrategy;
+
+  public AssignmentStrategyRegistry(
+      List<AssignmentStrategy> strategies,
+      @Value("${dtltm.assignment.default-strategy:" + GreedyAssignmentStrategy.NAME + "}") String defaultStrategy) {
+    for (AssignmentStrategy strategy : strategies) {
+      if (this.strategies.put(strategy.name(), strategy) != null) {
+        throw new IllegalStateException("Duplicate assignment strategy: " + strategy.name());
+      }
+    }
+    if (!this.strategies.containsKey(defaultStrategy)) {
+      throw new IllegalStateException("Unknown default assignment strategy: " + defaultStrategy);
+    }
+    this.defaultStrategy = defaultStrategy;
+  }
+
+  // Null or blank selects the configured default
+  public AssignmentStrategy get(String name) {
+    String key = name == null || name.isBlank() ? defaultStrategy : name;
+    AssignmentStrategy strategy = strategies.get(key);
+    if (strategy == null) {
+      throw new BadRequestException("Unknown assignment strategy: " + key + ". Available: " + names());
+    }
+    return strategy;
+  }
+
+  public Set<String> names() {
+    return Set.copyOf(strategies.keySet());
+  }
+}
@@ -0,0 +1,112 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.Arrays;
+
+// The greedy candidate priority packed into one long per slot, smaller is better, so picking
+// a course's best candidate is a single min-scan over longs. Fields from high to low bits:
+//   seniority score | rating (as a rank among the term's distinct ratings, best first)
+//   | hours left, inverted | preference rank
+// Hours left changes as faculties take courses; its field holds (maxHours of the term - maxHours
+// of the faculty) and the faculty's current hoursUsed is added at scan time.
+// Every field is offset to its minimum and sized to the term's actual range, so the ordering
+// is exactly that of the comparison it replaces. When the fields need more than 63 bits,
+// or hours are negative, base is null and callers fall back to comparing field by field.
+final class CandidateKeys {
+  final long[] base;
+  final int hoursShift;
+
+  private CandidateKeys(long[] base, int hoursShift) {
+    this.base = base;
+    this.hoursShift = hoursShift;
+  }
+
+  static CandidateKeys of(SolverModel model) {
+    int slots = model.candFaculty.length;
+    if (slots == 0) {
+      return new CandidateKeys(null, 0);
+    }
+
+    int minSeniority = Integer.MAX_VALUE;
+    int maxSeniority = Integer.MIN_VALUE;
+    int maxHours = 0;
+    for (int f = 0; f < model.facultyCount; f++) {
+      minSeniority = Math.min(minSeniority, model.facultySeniority[f]);
+      maxSeniority = Math.max(maxSeniority, model.facultySeniority[f]);
+      if (model.facultyMaxHours[f] < 0) {
+        return new CandidateKeys(null, 0);
+      }
+      maxHours = Math.max(maxHours, model.facultyMaxHours[f]);
+    }
+    for (int hours : model.courseHours) {
+      if (hours < 0) {
+        return new CandidateKeys(null, 0);
+      }
+    }
+    int minRank = Integer.MAX_VALUE;
+    int maxRank = Integer.MIN_VALUE;
+    for (int rank : model.candRank) {
+      minRank = Math.min(minRank, rank);
+      maxRank = Math.max(maxRank, rank);
+    }
+
+    // Distinct ratings, best first, compared exactly as Double.compare does
+    double[] ratings = Arrays.stream(model.facultyRating).boxed()
+        .sorted((a, b) -> Double.compare(b, a))
+        .mapToDouble(Double::doubleValue)
+        .distinct()
+        .toArray();
+
+    int rankBits = bits((long) maxRank - minRank);
+    // A candidate that can take a course has hoursUsed <= its maxHours, so the field stays <= maxHours
+    int hoursBits = bits(maxHours);
+    int ratingBits = bits(ratings.length - 1);
+    int seniorityBits = bits((long) maxSeniority - minSeniority);
+    if (rankBits + hoursBits + ratingBits + seniorityBits > 63) {
+      return new CandidateKeys(null, 0);
+    }
+
+    int hoursShift = rankBits;
+    int ratingShift = hoursShift + hoursBits;
+    int seniorityShift = ratingShift + ratingBits;
+    long[] facultyBase = new long[model.facultyCount];
+    for (int f = 0; f < model.facultyCount; f++) {
+      // Binary search is exact here: ratings holds the same values, sorted descending
+      int ratingRank = indexOf(ratings, model.facultyRating[f]);
+      facultyBase[f] = ((long) model.facultySeniority[f] - minSeniority) << seniorityShift
+          | (long) ratingRank << ratingShift
+          | (long) (maxHours - model.facultyMaxHours[f]) << hoursShift;
+    }
+    long[] base = new long[slots];
+    for (int s = 0; s < slots; s++) {
+      base[s] = facultyBase[model.candFaculty[s]] | ((long) model.candRank[s] - minRank);
+    }
+    return new CandidateKeys(base, hoursShift);
+  }
+
+  // Key of slot s while its faculty has hoursUsed hours assigned
+  long key(int s, int hoursUsed) {
+    return base[s] + ((long) hoursUsed << hoursShift);
+  }
+
+  private static int bits(long maxValue) {
+    return 64 - Long.numberOfLeadingZeros(maxValue);
+  }
+
+  private static int indexOf(double[] descending, double value) {
+    int low = 0;
+    int high = descending.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = Double.compare(value, descending[mid]);
+      if (cmp == 0) {
+        return mid;
+      }
+      if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        low = mid + 1;
+      }
+    }
+    throw new IllegalStateException("Rating not found: " + value);
+  }
+}
@@ -0,0 +1,117 @@
+package edu.thapar.dtltm.service.assignment;
+
+import org.springframework.stereotype.Component;
+
+// The original assignment pass: courses in order of their best preference rank, each given to
+// the most senior / best rated / least loaded interested faculty that still has room.
+@Component
+public class GreedyAssignmentStrategy implements AssignmentStrategy {
+  public static final String NAME = "greedy";
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  // Components share no faculty, so solving each one in greedy order, in parallel, makes
+  // exactly the decisions of one sequential pass over all courses. When the budget runs out
+  // the courses not reached yet are left unassigned.
+  @Override
+  public AssignmentPlan solve(SolverModel model, SolverContext context) {
+    context.expectWork(model.courseOrder.length);
+    return model.toPlan(assignAll(model, context));
+  }
+
+  // The greedy pass as a state, for strategies that start from it; adds one work unit per course
+  static SolverState assignAll(SolverModel model, SolverContext context) {
+    SolverState state = model.newState();
+    SolverComponents components = model.components();
+    components.forEach(k -> solveComponent(model, components, k, state, context));
+    return state;
+  }
+
+  // Looks at shouldStop before the component and then every 256 courses: most components are
+  // far smaller than that, and a term of small ones would otherwise never stop
+  private static void solveComponent(SolverModel model, SolverComponents components, int k, SolverState state,
+      SolverContext context) {
+    if (context.shouldStop()) {
+      return;
+    }
+    int done = 0;
+    for (int i = components.courseStart[k]; i < components.courseStart[k + 1]; i++) {
+      if ((++done & 255) == 0) {
+        if (context.shouldStop()) {
+          return;
+        }
+        context.addWork(256);
+      }
+      int c = components.courses[i];
+      int best = findBestCandidate(model, state, c);
+      if (best >= 0) {
+        state.assign(c, best);
+      }
+      // Otherwise criteria 1-3 failed and the course is left for the LLM fallback
+    }
+    context.addWork(done & 255);
+  }
+
+  // Min-scan over the course's packed candidate keys; returns -1 when nobody can take it
+  static int findBestCandidate(SolverModel model, SolverState state, int c) {
+    CandidateKeys keys = model.candidateKeys();
+    if (keys.base == null) {
+      return findBestCandidateByComparison(model, state, c);
+    }
+    int best = -1;
+    long bestKey = Long.MAX_VALUE;
+    for (int s = model.candStart[c]; s < model.candStart[c + 1]; s++) {
+      if (state.canTake(c, s)) {
+        long key = keys.key(s, state.hoursUsed[model.candFaculty[s]]);
+        // Strict: ties keep the earlier slot
+        if (key < bestKey) {
+          bestKey = key;
+          best = s;
+        }
+      }
+    }
+    return best;
+  }
+
+  // Same choice comparing the priorities one by one, for terms whose keys do not fit a long
+  static int findBestCandidateByComparison(SolverModel model, SolverState state, int c) {
+    int best = -1;
+    for (int s = model.candStart[c]; s < model.candStart[c + 1]; s++) {
+      if (state.canTake(c, s) && (best < 0 || isBetter(model, state, s, best))) {
+        best = s;
+      }
+    }
+    return best;
+  }
+
+  // Ties keep the earlier slot, matching the stable sort the ranking used to be
+  private static boolean isBetter(SolverModel model, SolverState state, int s1, int s2) {
+    int f1 = model.candFaculty[s1];
+    int f2 = model.candFaculty[s2];
+
+    // Priority 1: Seniority (lower seniorityScore = higher priority)
+    int seniorityCompare = Integer.compare(model.facultySeniority[f1], model.facultySeniority[f2]);
+    if (seniorityCompare != 0) {
+      return seniorityCompare < 0;
+    }
+
+    // Priority 2: Rating (higher rating = higher priority)
+    int ratingCompare = Double.compare(model.facultyRating[f2], model.facultyRating[f1]);
+    if (ratingCompare != 0) {
+      return ratingCompare < 0;
+    }
+
+    // Priority 3: Max hours available (more available = higher priority)
+    int hours1 = model.facultyMaxHours[f1] - state.hoursUsed[f1];
+    int hours2 = model.facultyMaxHours[f2] - state.hoursUsed[f2];
+    if (hours1 != hours2) {
+      return hours1 > hours2;
+    }
+
+    // Tie-breaker: Preference rank (lower rank = higher priority)
+    return model.candRank[s1] < model.candRank[s2];
+  }
+}
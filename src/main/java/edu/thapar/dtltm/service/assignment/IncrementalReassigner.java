@@ -0,0 +1,72 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+
+// Repairs a previous plan after some faculties or courses changed, instead of re-solving the term.
+// Every assignment that is still valid and not touched by the change is kept; released courses
+// are handed out again by the greedy rule, in the greedy course order. A course is released when
+//   - its teacher is a changed faculty, or the course itself changed,
+//   - its teacher no longer ranks it (preference withdrawn, set reopened),
+//   - a changed faculty now ranks it (they may outrank the current teacher),
+//   - its teacher no longer has room for it (the limits changed since the previous plan), or
+//     the previous plan already gave it to someone else.
+// Courses that were unassigned before are retried too, since released faculties may have room.
+public final class IncrementalReassigner {
+  private final SolverModel model;
+
+  public IncrementalReassigner(SolverModel model) {
+    this.model = model;
+  }
+
+  public AssignmentDiff repair(AssignmentPlan previous, Collection<UUID> changedFacultyIds,
+      Collection<UUID> changedCourseIds) {
+    boolean[] changedFaculty = new boolean[model.facultyCount];
+    for (UUID facultyId : changedFacultyIds) {
+      int f = model.facultyIndexOf(facultyId);
+      if (f >= 0) {
+        changedFaculty[f] = true;
+      }
+    }
+    boolean[] released = new boolean[model.courseCount];
+    for (UUID courseId : changedCourseIds) {
+      int c = model.courseIndexOf(courseId);
+      if (c >= 0) {
+        released[c] = true;
+      }
+    }
+    for (int f = 0; f < model.facultyCount; f++) {
+      if (changedFaculty[f]) {
+        for (int i = model.facStart[f]; i < model.facStart[f + 1]; i++) {
+          released[model.candCourse[model.facSlots[i]]] = true;
+        }
+      }
+    }
+
+    // Keep what survives, in the previous plan's order, as long as it still fits
+    SolverState state = model.newState();
+    for (Assignment assignment : previous.getAssignments()) {
+      int c = model.courseIndexOf(assignment.getCourseId());
+      int f = model.facultyIndexOf(assignment.getFacultyId());
+      if (c < 0 || f < 0 || released[c] || changedFaculty[f] || state.assignedSlot[c] >= 0) {
+        continue;
+      }
+      int s = model.slotOf(c, f);
+      if (s >= 0 && state.hasRoom(c, s)) {
+        state.assign(c, s);
+      }
+    }
+
+    for (int c : model.courseOrder) {
+      if (state.assignedSlot[c] < 0) {
+        int best = GreedyAssignmentStrategy.findBestCandidate(model, state, c);
+        if (best >= 0) {
+          state.assign(c, best);
+        }
+      }
+    }
+    return AssignmentDiff.between(previous, model.toPlan(state));
+  }
+}
@@ -0,0 +1,121 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.Arrays;
+
+// Lower bound on the objective of any feasible plan (see SolverModel.objectiveOf), by Lagrangian
+// relaxation of the per-faculty course limits. maxHoursPerWeek is relaxed to what min-cost flow
+// also assumes: a slot is usable only if the course fits on its own, and a faculty who cannot
+// fit any two of their candidates can take one course at most.
+// With a price lambda[f] per course on each faculty, every course independently takes its
+// cheapest usable (cost + price), or stays unassigned at the penalty; minus the prices of all
+// capacity, that is a bound for any prices. Prices follow subgradient steps sized by the
+// distance to the plan's objective (Polyak); the best bound seen is kept. Each round is one
+// pass over the candidate slots; on large terms this lands within a few units of the exact
+// min-cost flow bound of the same relaxation at a small fraction of its time.
+final class LagrangianBound {
+  private static final int MAX_ROUNDS = 200;
+  // Halve the step scale after this many rounds without a better bound
+  private static final int PATIENCE = 10;
+  private static final double MIN_SCALE = 1e-4;
+  // Slack for floating point error before rounding the bound up to an integer objective
+  private static final double EPSILON = 1e-6;
+
+  private LagrangianBound() {
+  }
+
+  // upperBound: objective of a known plan, steers the step size; the bound never exceeds it
+  static long of(SolverModel model, long upperBound) {
+    long penalty = model.unassignedPenalty();
+    boolean[] usable = new boolean[model.candCourse.length];
+    int[] capacity = capacities(model, usable);
+
+    double[] price = new double[model.facultyCount];
+    int[] used = new int[model.facultyCount];
+    double best = 0;
+    double scale = 2.0;
+    int sinceImproved = 0;
+    for (int round = 0; round < MAX_ROUNDS; round++) {
+      Arrays.fill(used, 0);
+      double bound = 0;
+      for (int f = 0; f < model.facultyCount; f++) {
+        bound -= price[f] * capacity[f];
+      }
+      for (int c : model.courseOrder) {
+        double cheapest = penalty;
+        int pick = -1;
+        for (int s = model.candStart[c]; s < model.candStart[c + 1]; s++) {
+          if (usable[s]) {
+            double value = model.candCost[s] + price[model.candFaculty[s]];
+            if (value < cheapest) {
+              cheapest = value;
+              pick = s;
+            }
+          }
+        }
+        bound += cheapest;
+        if (pick >= 0) {
+          used[model.candFaculty[pick]]++;
+        }
+      }
+
+      if (bound > best + EPSILON) {
+        best = bound;
+        sinceImproved = 0;
+      } else if (++sinceImproved >= PATIENCE) {
+        scale /= 2;
+        sinceImproved = 0;
+      }
+      if (best >= upperBound - EPSILON || scale < MIN_SCALE) {
+        break;
+      }
+
+      // Subgradient: courses taken minus capacity; prices stay non-negative
+      double norm = 0;
+      for (int f = 0; f < model.facultyCount; f++) {
+        int excess = used[f] - capacity[f];
+        if (excess > 0 || price[f] > 0) {
+          norm += (double) excess * excess;
+        }
+      }
+      if (norm == 0) {
+        break; // Prices are optimal for the relaxation
+      }
+      double step = scale * (upperBound - bound) / norm;
+      for (int f = 0; f < model.facultyCount; f++) {
+        price[f] = Math.max(0, price[f] + step * (used[f] - capacity[f]));
+      }
+    }
+    return Math.min(upperBound, (long) Math.ceil(best - EPSILON));
+  }
+
+  // Marks usable slots and returns how many courses each faculty can take in the relaxation
+  private static int[] capacities(SolverModel model, boolean[] usable) {
+    int[] smallest = new int[model.facultyCount];
+    int[] secondSmallest = new int[model.facultyCount];
+    Arrays.fill(smallest, Integer.MAX_VALUE);
+    Arrays.fill(secondSmallest, Integer.MAX_VALUE);
+    for (int c : model.courseOrder) {
+      int hours = model.courseHours[c];
+      for (int s = model.candStart[c]; s < model.candStart[c + 1]; s++) {
+        int f = model.candFaculty[s];
+        if (model.candTeaching[s] || hours > model.facultyMaxHours[f]) {
+          continue;
+        }
+        usable[s] = true;
+        if (hours < smallest[f]) {
+          secondSmallest[f] = smallest[f];
+          smallest[f] = hours;
+        } else if (hours < secondSmallest[f]) {
+          secondSmallest[f] = hours;
+        }
+      }
+    }
+    int[] capacity = new int[model.facultyCount];
+    for (int f = 0; f < model.facultyCount; f++) {
+      boolean pairFits = secondSmallest[f] != Integer.MAX_VALUE
+          && smallest[f] + secondSmallest[f] <= model.facultyMaxHours[f];
+      capacity[f] = pairFits ? model.facultyMaxCourses[f] : Math.min(1, model.facultyMaxCourses[f]);
+    }
+    return capacity;
+  }
+}
@@ -0,0 +1,30 @@
+package edu.thapar.dtltm.service.assignment;
+
+import org.springframework.stereotype.Component;
+
+// Anytime strategy: the greedy plan, then simulated annealing on it for as long as the time
+// budget allows (or a fixed number of iterations without one). Trades latency for plan quality
+// per request; the objective over time is recorded on the SolverContext.
+@Component
+public class LocalSearchAssignmentStrategy implements AssignmentStrategy {
+  public static final String NAME = "local-search";
+
+  // Progress: the greedy pass counts one unit per course, the search nine
+  private static final int SEARCH_WORK_PER_COURSE = 9;
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public AssignmentPlan solve(SolverModel model, SolverContext context) {
+    long courses = model.courseOrder.length;
+    context.expectWork(courses + SEARCH_WORK_PER_COURSE * courses);
+    SolverState state = GreedyAssignmentStrategy.assignAll(model, context);
+    if (context.shouldStop()) {
+      return model.toPlan(state);
+    }
+    return model.toPlan(new LocalSearchImprover(model, context, state).improve(SEARCH_WORK_PER_COURSE * courses));
+  }
+}
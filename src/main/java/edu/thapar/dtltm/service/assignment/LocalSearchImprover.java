@@ -0,0 +1,211 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.SplittableRandom;
+
+// Simulated annealing that starts from a plan and keeps it feasible throughout. Objective, lower
+// is better: unassigned courses first, then total AssignmentCost. One move takes a random course
+// and a random other candidate for it; if that faculty has no room, one of their courses is
+// ejected and re-placed with its cheapest candidate that still fits (or dropped), which also
+// covers plain swaps. Worse moves are accepted with the Metropolis probability while the
+// temperature cools over the time budget, or over an iteration budget when there is none.
+// The best plan seen is kept and returned, also when the deadline hits or the run is cancelled.
+final class LocalSearchImprover {
+  // Iteration budget without a deadline, per candidate slot of the term
+  private static final long ITERATIONS_PER_SLOT = 40;
+  private static final long MAX_ITERATIONS = 20_000_000L;
+  // Iterations between clock / cancellation checks
+  private static final int CHECK_INTERVAL = 1024;
+  // In cost units: at the start, moving a course one preference rank down is often accepted
+  private static final double START_TEMPERATURE = 2.0 * AssignmentCost.RANK_WEIGHT;
+  private static final double END_TEMPERATURE = 0.2;
+  // Fixed seed, so the same term and iteration budget always give the same plan
+  private static final long SEED = 20240601L;
+
+  private final SolverModel model;
+  private final SolverContext context;
+  private final SolverState state;
+  private final SplittableRandom random = new SplittableRandom(SEED);
+  // One move costs more than any cost change it can bring, so a move that unassigns a course
+  // is always worse than one that does not
+  private final long unassignedPenalty;
+
+  private int unassigned;
+  private long cost;
+  private int bestUnassigned;
+  private long bestCost;
+  // Copy of the best assignment, null while the current state is the best
+  private int[] bestSlots;
+
+  LocalSearchImprover(SolverModel model, SolverContext context, SolverState state) {
+    this.model = model;
+    this.context = context;
+    this.state = state;
+    this.unassignedPenalty = model.unassignedPenalty();
+    for (int c : model.courseOrder) {
+      int s = state.assignedSlot[c];
+      if (s < 0) {
+        unassigned++;
+      } else {
+        cost += model.candCost[s];
+      }
+    }
+    this.bestUnassigned = unassigned;
+    this.bestCost = cost;
+  }
+
+  // Improves the state in place; reports progress as `workUnits` spread over the search
+  SolverState improve(long workUnits) {
+    int[] courses = model.courseOrder;
+    context.recordObjective(unassigned, cost);
+    if (courses.length == 0) {
+      context.addWork(workUnits);
+      return state;
+    }
+
+    long maxIterations = Math.min(MAX_ITERATIONS, ITERATIONS_PER_SLOT * Math.max(1, model.candCourse.length));
+    double temperature = START_TEMPERATURE;
+    long reported = 0;
+    for (long iteration = 0; ; iteration++) {
+      if (iteration % CHECK_INTERVAL == 0) {
+        double done = context.hasDeadline() ? context.budgetUsed() : (double) iteration / maxIterations;
+        if (done >= 1.0 || context.shouldStop()) {
+          break;
+        }
+        temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, done);
+        long target = (long) (done * workUnits);
+        context.addWork(target - reported);
+        reported = target;
+      }
+      move(courses[random.nextInt(courses.length)], temperature);
+    }
+    context.addWork(workUnits - reported);
+
+    if (bestSlots != null) {
+      restoreBest();
+    }
+    context.recordObjective(bestUnassigned, bestCost);
+    return state;
+  }
+
+  private void move(int c, double temperature) {
+    int first = model.candStart[c];
+    int count = model.candStart[c + 1] - first;
+    if (count == 0) {
+      return;
+    }
+    int s = first + random.nextInt(count);
+    int current = state.assignedSlot[c];
+    if (s == current || model.candTeaching[s]) {
+      return;
+    }
+
+    // Make room on the target faculty by ejecting one of their courses if needed
+    state.unassign(c);
+    int ejected = -1;
+    int ejectedFrom = -1;
+    if (!state.canTake(c, s)) {
+      ejected = randomCourseOf(model.candFaculty[s]);
+      if (ejected >= 0) {
+        ejectedFrom = state.assignedSlot[ejected];
+        state.unassign(ejected);
+      }
+      if (ejected < 0 || !state.canTake(c, s)) {
+        if (ejected >= 0) {
+          state.assign(ejected, ejectedFrom);
+        }
+        if (current >= 0) {
+          state.assign(c, current);
+        }
+        return;
+      }
+    }
+    state.assign(c, s);
+    int ejectedTo = ejected >= 0 ? cheapestFit(ejected) : -1;
+    if (ejectedTo >= 0) {
+      state.assign(ejected, ejectedTo);
+    }
+
+    int unassignedDelta = (current < 0 ? -1 : 0) + (ejected >= 0 && ejectedTo < 0 ? 1 : 0);
+    long costDelta = model.candCost[s] - (current >= 0 ? model.candCost[current] : 0);
+    if (ejected >= 0) {
+      costDelta += (ejectedTo >= 0 ? model.candCost[ejectedTo] : 0) - model.candCost[ejectedFrom];
+    }
+    long delta = unassignedDelta * unassignedPenalty + costDelta;
+
+    if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+      undo(c, current, ejected, ejectedFrom);
+      return;
+    }
+    if (delta > 0 && bestSlots == null) {
+      // Leaving the best plan: keep a copy of it first
+      undo(c, current, ejected, ejectedFrom);
+      bestSlots = state.assignedSlot.clone();
+      state.unassign(c);
+      if (ejected >= 0) {
+        state.unassign(ejected);
+      }
+      state.assign(c, s);
+      if (ejectedTo >= 0) {
+        state.assign(ejected, ejectedTo);
+      }
+    }
+
+    unassigned += unassignedDelta;
+    cost += costDelta;
+    if (unassigned < bestUnassigned || (unassigned == bestUnassigned && cost < bestCost)) {
+      bestUnassigned = unassigned;
+      bestCost = cost;
+      bestSlots = null;
+      context.recordObjective(unassigned, cost);
+    }
+  }
+
+  private void undo(int c, int current, int ejected, int ejectedFrom) {
+    state.unassign(c);
+    if (ejected >= 0) {
+      state.unassign(ejected);
+      state.assign(ejected, ejectedFrom);
+    }
+    if (current >= 0) {
+      state.assign(c, current);
+    }
+  }
+
+  // One of the faculty's current courses, -1 when they have none
+  private int randomCourseOf(int f) {
+    int found = 0;
+    int picked = -1;
+    for (int i = model.facStart[f]; i < model.facStart[f + 1]; i++) {
+      int t = model.facSlots[i];
+      int course = model.candCourse[t];
+      // Reservoir sampling over the faculty's few assigned courses
+      if (state.assignedSlot[course] == t && random.nextInt(++found) == 0) {
+        picked = course;
+      }
+    }
+    return picked;
+  }
+
+  // Cheapest candidate slot that can take the course right now, -1 when none can
+  private int cheapestFit(int c) {
+    int best = -1;
+    for (int s = model.candStart[c]; s < model.candStart[c + 1]; s++) {
+      if (state.canTake(c, s) && (best < 0 || model.candCost[s] < model.candCost[best])) {
+        best = s;
+      }
+    }
+    return best;
+  }
+
+  private void restoreBest() {
+    for (int c = 0; c < bestSlots.length; c++) {
+      state.unassign(c);
+    }
+    for (int c = 0; c < bestSlots.length; c++) {
+      if (bestSlots[c] >= 0) {
+        state.assign(c, bestSlots[c]);
+      }
+    }
+    bestSlots = null;
+  }
+}
@@ -0,0 +1,381 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.Arrays;
+
+// Optimal assignment of one connected component as a min-cost max-flow over
+//   source -> faculty (cap 2) -> course (cap 1, cost = AssignmentCost) -> sink (cap 1).
+// Solved with successive shortest paths (Dijkstra on reduced costs, stopping at the sink).
+// maxHoursPerWeek is not a flow constraint, so it is enforced by repair: faculties who cannot
+// fit any two of their candidates get capacity 1, and if a faculty still ends up over their
+// hours, their most expensive course edge is dropped and the flow is re-solved.
+// When the time budget runs out or the run is cancelled, the flow found so far is used, less
+// the courses that would still put a faculty over their hours.
+// Nodes are numbered locally (faculties 0..F-1, courses F..F+C-1 of the component), so a
+// component's graph costs nothing for the rest of the term.
+final class MinCostFlowAssigner {
+  private final SolverModel model;
+  private final SolverContext context;
+  private final SolverComponents components;
+  private final int component;
+  private final int facultyCount;
+  private final int courseCount;
+
+  // Candidate slots that can ever be used: not already taught by them and fits on its own
+  private final int[] usableSlots;
+  private final boolean[] dropped;
+
+  // How many courses each faculty can take at all: 1 if no two of their candidates fit together
+  private final int[] facultyCapacity;
+
+  // Residual graph in forward-star form; edge e and e ^ 1 are a pair
+  private int[] head;
+  private int[] next;
+  private int[] to;
+  private int[] cap;
+  private int[] cost;
+  private int edgeCount;
+
+  MinCostFlowAssigner(SolverModel model, SolverContext context, SolverComponents components, int component) {
+    this.model = model;
+    this.context = context;
+    this.components = components;
+    this.component = component;
+    this.facultyCount = components.facultyCount(component);
+    this.courseCount = components.courseCount(component);
+
+    int from = components.courseStart[component];
+    int until = components.courseStart[component + 1];
+    int slotCount = 0;
+    for (int i = from; i < until; i++) {
+      int c = components.courses[i];
+      slotCount += model.candStart[c + 1] - model.candStart[c];
+    }
+    int[] slots = new int[slotCount];
+    int size = 0;
+    for (int i = from; i < until; i++) {
+      int c = components.courses[i];
+      for (int s = model.candStart[c]; s < model.candStart[c + 1]; s++) {
+        // Same static filters as the greedy pass
+        if (!model.candTeaching[s] && model.courseHours[c] <= model.facultyMaxHours[model.candFaculty[s]]) {
+          slots[size++] = s;
+        }
+      }
+    }
+    this.usableSlots = Arrays.copyOf(slots, size);
+    this.dropped = new boolean[size];
+    this.facultyCapacity = computeCapacities();
+  }
+
+  // Whole term, one component after another (in parallel when large); writes into one state
+  static AssignmentPlan solve(SolverModel model, SolverContext context) {
+    SolverState state = model.newState();
+    SolverComponents components = model.components();
+    context.expectWork(model.courseOrder.length);
+    components.forEach(k -> new MinCostFlowAssigner(model, context, components, k).solveInto(state));
+    return model.toPlan(state);
+  }
+
+  private int localFaculty(int s) {
+    return components.facultyLocal[model.candFaculty[s]];
+  }
+
+  private int localCourse(int s) {
+    return components.courseLocal[model.candCourse[s]];
+  }
+
+  private int[] computeCapacities() {
+    int[] smallest = new int[facultyCount];
+    int[] secondSmallest = new int[facultyCount];
+    Arrays.fill(smallest, Integer.MAX_VALUE);
+    Arrays.fill(secondSmallest, Integer.MAX_VALUE);
+    for (int s : usableSlots) {
+      int f = localFaculty(s);
+      int hours = model.courseHours[model.candCourse[s]];
+      if (hours < smallest[f]) {
+        secondSmallest[f] = smallest[f];
+        smallest[f] = hours;
+      } else if (hours < secondSmallest[f]) {
+        secondSmallest[f] = hours;
+      }
+    }
+    int[] capacity = new int[facultyCount];
+    int firstFaculty = components.facultyStart[component];
+    for (int f = 0; f < facultyCount; f++) {
+      int faculty = components.faculties[firstFaculty + f];
+      int maxHours = model.facultyMaxHours[faculty];
+      int maxCourses = model.facultyMaxCourses[faculty];
+      boolean pairFits = secondSmallest[f] != Integer.MAX_VALUE && smallest[f] + secondSmallest[f] <= maxHours;
+      capacity[f] = pairFits ? maxCourses : Math.min(1, maxCourses);
+    }
+    return capacity;
+  }
+
+  void solveInto(SolverState state) {
+    int[] assignedIndex = new int[courseCount];
+    while (true) {
+      buildGraph();
+      runSuccessiveShortestPaths();
+      collectAssignments(assignedIndex);
+      if (!dropHoursViolations(assignedIndex) || context.shouldStop()) {
+        break;
+      }
+    }
+
+    // Only a stop can leave hours violations here; those courses are left for fillDroppedCourses
+    for (int j = 0; j < courseCount; j++) {
+      if (assignedIndex[j] >= 0) {
+        int s = usableSlots[assignedIndex[j]];
+        int c = model.candCourse[s];
+        if (state.hasRoom(c, s)) {
+          state.assign(c, s);
+        }
+      }
+    }
+    fillDroppedCourses(state);
+  }
+
+  private void buildGraph() {
+    int nodes = facultyCount + courseCount + 2;
+    int maxEdges = 2 * (facultyCount + courseCount + usableSlots.length);
+    head = new int[nodes];
+    Arrays.fill(head, -1);
+    next = new int[maxEdges];
+    to = new int[maxEdges];
+    cap = new int[maxEdges];
+    cost = new int[maxEdges];
+    edgeCount = 0;
+
+    int source = source();
+    int sink = sink();
+    for (int f = 0; f < facultyCount; f++) {
+      addEdge(source, f, facultyCapacity[f], 0);
+    }
+    for (int i = 0; i < usableSlots.length; i++) {
+      if (!dropped[i]) {
+        int s = usableSlots[i];
+        addEdge(localFaculty(s), facultyCount + localCourse(s), 1, model.candCost[s]);
+      }
+    }
+    for (int c = 0; c < courseCount; c++) {
+      addEdge(facultyCount + c, sink, 1, 0);
+    }
+  }
+
+  private void addEdge(int u, int v, int capacity, int edgeCost) {
+    to[edgeCount] = v;
+    cap[edgeCount] = capacity;
+    cost[edgeCount] = edgeCost;
+    next[edgeCount] = head[u];
+    head[u] = edgeCount++;
+
+    to[edgeCount] = u;
+    cap[edgeCount] = 0;
+    cost[edgeCount] = -edgeCost;
+    next[edgeCount] = head[v];
+    head[v] = edgeCount++;
+  }
+
+  private void runSuccessiveShortestPaths() {
+    int nodes = head.length;
+    int source = source();
+    int sink = sink();
+
+    long[] potential = new long[nodes];
+    long[] dist = new long[nodes];
+    int[] prevEdge = new int[nodes];
+    int[] reached = new int[nodes];
+    LongHeap heap = new LongHeap(edgeCount + nodes);
+    int stamp = 0;
+
+    while (true) {
+      // A partial flow is still a valid (cheapest for its size) assignment, so stop on budget
+      if ((stamp & 63) == 63) {
+        if (context.shouldStop()) {
+          return;
+        }
+        // Each path places one course; repair rounds count again, progress is capped at 1
+        context.addWork(64);
+      }
+      stamp++;
+      heap.clear();
+      dist[source] = 0;
+      reached[source] = stamp;
+      heap.push(0L, source);
+
+      long sinkDist = -1;
+      while (!heap.isEmpty()) {
+        long d = heap.peekKey();
+        int u = heap.pop();
+        if (d > dist[u]) {
+          continue;
+        }
+        if (u == sink) {
+          sinkDist = d;
+          break;
+        }
+        for (int e = head[u]; e != -1; e = next[e]) {
+          if (cap[e] == 0) {
+            continue;
+          }
+          int v = to[e];
+          long nd = d + cost[e] + potential[u] - potential[v];
+          if (reached[v] != stamp || nd < dist[v]) {
+            reached[v] = stamp;
+            dist[v] = nd;
+            prevEdge[v] = e;
+            heap.push(nd, v);
+          }
+        }
+      }
+
+      if (sinkDist < 0) {
+        return; // Max flow reached
+      }
+
+      // Keep reduced costs non-negative: nodes past the sink only move by the sink distance
+      for (int v = 0; v < nodes; v++) {
+        potential[v] += reached[v] == stamp ? Math.min(dist[v], sinkDist) : sinkDist;
+      }
+
+      // Every augmenting path carries exactly one unit (course -> sink has capacity 1)
+      for (int v = sink; v != source; v = to[prevEdge[v] ^ 1]) {
+        cap[prevEdge[v]] -= 1;
+        cap[prevEdge[v] ^ 1] += 1;
+      }
+    }
+  }
+
+  private void collectAssignments(int[] assignedIndex) {
+    Arrays.fill(assignedIndex, -1);
+    // Candidate edges were added in order, right after the faculty edges
+    int e = 2 * facultyCount;
+    for (int i = 0; i < usableSlots.length; i++) {
+      if (dropped[i]) {
+        continue;
+      }
+      if (cap[e] == 0) {
+        assignedIndex[localCourse(usableSlots[i])] = i;
+      }
+      e += 2;
+    }
+  }
+
+  private boolean dropHoursViolations(int[] assignedIndex) {
+    int[] hoursUsed = new int[facultyCount];
+    int[] worst = new int[facultyCount];
+    Arrays.fill(worst, -1);
+    for (int j = 0; j < courseCount; j++) {
+      int i = assignedIndex[j];
+      if (i < 0) {
+        continue;
+      }
+      int s = usableSlots[i];
+      int f = localFaculty(s);
+      hoursUsed[f] += model.courseHours[model.candCourse[s]];
+      if (worst[f] < 0 || model.candCost[s] > model.candCost[usableSlots[worst[f]]]) {
+        worst[f] = i;
+      }
+    }
+
+    boolean any = false;
+    int firstFaculty = components.facultyStart[component];
+    for (int f = 0; f < facultyCount; f++) {
+      if (hoursUsed[f] > model.facultyMaxHours[components.faculties[firstFaculty + f]]) {
+        dropped[worst[f]] = true;
+        assignedIndex[localCourse(usableSlots[worst[f]])] = -1;
+        any = true;
+      }
+    }
+    return any;
+  }
+
+  // Dropped edges can strand a course that still fits another faculty's spare capacity
+  private void fillDroppedCourses(SolverState state) {
+    long[] byCost = new long[usableSlots.length];
+    for (int i = 0; i < usableSlots.length; i++) {
+      byCost[i] = ((long) model.candCost[usableSlots[i]] << 32) | i;
+    }
+    Arrays.sort(byCost);
+    for (long key : byCost) {
+      int s = usableSlots[(int) key];
+      int c = model.candCourse[s];
+      if (state.assignedSlot[c] < 0 && state.canTake(c, s)) {
+        state.assign(c, s);
+      }
+    }
+  }
+
+  private int source() {
+    return facultyCount + courseCount;
+  }
+
+  private int sink() {
+    return facultyCount + courseCount + 1;
+  }
+
+  // Binary min-heap of (key, node) pairs packed into parallel primitive arrays
+  private static final class LongHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongHeap(int capacity) {
+      keys = new long[Math.max(capacity, 16)];
+      values = new int[keys.length];
+    }
+
+    void clear() {
+      size = 0;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    long peekKey() {
+      return keys[0];
+    }
+
+    void push(long key, int value) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (keys[parent] <= key) {
+          break;
+        }
+        keys[i] = keys[parent];
+        values[i] = values[parent];
+        i = parent;
+      }
+      keys[i] = key;
+      values[i] = value;
+    }
+
+    int pop() {
+      int top = values[0];
+      long key = keys[--size];
+      int value = values[size];
+      int i = 0;
+      int half = size >>> 1;
+      while (i < half) {
+        int child = 2 * i + 1;
+        if (child + 1 < size && keys[child + 1] < keys[child]) {
+          child++;
+        }
+        if (key <= keys[child]) {
+          break;
+        }
+        keys[i] = keys[child];
+        values[i] = values[child];
+        i = child;
+      }
+      keys[i] = key;
+      values[i] = value;
+      return top;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package edu.thapar.dtltm.service.assignment;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class MinCostFlowAssignmentStrategy implements AssignmentStrategy {
+  public static final String NAME = "min-cost-flow";
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public AssignmentPlan solve(SolverModel model, SolverContext context) {
+    return MinCostFlowAssigner.solve(model, context);
+  }
+}
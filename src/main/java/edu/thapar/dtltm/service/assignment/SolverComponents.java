@@ -0,0 +1,153 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// Connected components of the faculty-course candidate graph. No constraint crosses a
+// component (hours and course limits are per faculty, each course takes one teacher), so
+// components can be solved independently and in any order, into one shared SolverState.
+// Slots of faculties already teaching the course are never usable and do not connect anything.
+//
+// Components are numbered by their first course in greedy order; courses of a component keep
+// greedy order, faculties keep index order. Components without courses are dropped.
+final class SolverComponents {
+  // Below this many candidate slots, forking costs more than it saves
+  private static final int PARALLEL_MIN_SLOTS = 4096;
+
+  final int count;
+  // Courses of component k are courses[courseStart[k] .. courseStart[k + 1] - 1]
+  final int[] courseStart;
+  final int[] courses;
+  // Faculties of component k are faculties[facultyStart[k] .. facultyStart[k + 1] - 1]
+  final int[] facultyStart;
+  final int[] faculties;
+  // Position of each faculty / course inside its component, for dense per-component arrays
+  final int[] facultyLocal;
+  final int[] courseLocal;
+  final boolean parallel;
+
+  private SolverComponents(int count, int[] courseStart, int[] courses, int[] facultyStart, int[] faculties,
+      int[] facultyLocal, int[] courseLocal, boolean parallel) {
+    this.count = count;
+    this.courseStart = courseStart;
+    this.courses = courses;
+    this.facultyStart = facultyStart;
+    this.faculties = faculties;
+    this.facultyLocal = facultyLocal;
+    this.courseLocal = courseLocal;
+    this.parallel = parallel;
+  }
+
+  static SolverComponents of(SolverModel model) {
+    int facultyCount = model.facultyCount;
+    int courseCount = model.courseCount;
+
+    // Union-find over faculty nodes 0..F-1 and course nodes F..F+C-1
+    int[] parent = new int[facultyCount + courseCount];
+    int[] size = new int[parent.length];
+    for (int i = 0; i < parent.length; i++) {
+      parent[i] = i;
+      size[i] = 1;
+    }
+    for (int s = 0; s < model.candFaculty.length; s++) {
+      if (!model.candTeaching[s]) {
+        union(parent, size, model.candFaculty[s], facultyCount + model.candCourse[s]);
+      }
+    }
+
+    int[] label = new int[parent.length];
+    Arrays.fill(label, -1);
+    int count = 0;
+    int[] courseComponent = new int[courseCount];
+    int[] courseCounts = new int[courseCount + 1];
+    for (int c : model.courseOrder) {
+      int root = find(parent, facultyCount + c);
+      if (label[root] < 0) {
+        label[root] = count++;
+      }
+      courseComponent[c] = label[root];
+      courseCounts[label[root] + 1]++;
+    }
+    int[] courseStart = Arrays.copyOf(courseCounts, count + 1);
+    int[] facultyComponent = new int[facultyCount];
+    int[] facultyStart = new int[count + 1];
+    for (int f = 0; f < facultyCount; f++) {
+      facultyComponent[f] = label[find(parent, f)];
+      if (facultyComponent[f] >= 0) {
+        facultyStart[facultyComponent[f] + 1]++;
+      }
+    }
+    for (int k = 0; k < count; k++) {
+      courseStart[k + 1] += courseStart[k];
+      facultyStart[k + 1] += facultyStart[k];
+    }
+
+    int[] courses = new int[courseCount];
+    int[] courseLocal = new int[courseCount];
+    int[] fill = Arrays.copyOf(courseStart, count);
+    for (int c : model.courseOrder) {
+      int k = courseComponent[c];
+      courseLocal[c] = fill[k] - courseStart[k];
+      courses[fill[k]++] = c;
+    }
+    int[] faculties = new int[facultyStart[count]];
+    int[] facultyLocal = new int[facultyCount];
+    Arrays.fill(facultyLocal, -1);
+    fill = Arrays.copyOf(facultyStart, count);
+    for (int f = 0; f < facultyCount; f++) {
+      int k = facultyComponent[f];
+      if (k >= 0) {
+        facultyLocal[f] = fill[k] - facultyStart[k];
+        faculties[fill[k]++] = f;
+      }
+    }
+
+    boolean parallel = count > 1 && model.candFaculty.length >= PARALLEL_MIN_SLOTS;
+    return new SolverComponents(count, courseStart, courses, facultyStart, faculties,
+        facultyLocal, courseLocal, parallel);
+  }
+
+  int courseCount(int k) {
+    return courseStart[k + 1] - courseStart[k];
+  }
+
+  int facultyCount(int k) {
+    return facultyStart[k + 1] - facultyStart[k];
+  }
+
+  // Runs the task once per component, on the common fork-join pool when the term is large
+  // enough. The task must only read and write state of its own component.
+  void forEach(IntConsumer task) {
+    if (parallel) {
+      IntStream.range(0, count).parallel().forEach(task);
+    } else {
+      for (int k = 0; k < count; k++) {
+        task.accept(k);
+      }
+    }
+  }
+
+  private static int find(int[] parent, int x) {
+    while (parent[x] != x) {
+      parent[x] = parent[parent[x]]; // path halving
+      x = parent[x];
+    }
+    return x;
+  }
+
+  private static void union(int[] parent, int[] size, int a, int b) {
+    int ra = find(parent, a);
+    int rb = find(parent, b);
+    if (ra == rb) {
+      return;
+    }
+    if (size[ra] < size[rb]) {
+      int t = ra;
+      ra = rb;
+      rb = t;
+    }
+    parent[rb] = ra;
+    size[ra] += size[rb];
+  }
+}
@@ -0,0 +1,148 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Value;
+
+// Per-run limits handed to a strategy. Strategies that can stop early should poll
+// shouldStop() and return the best plan they have when it turns true, and may report
+// progress so callers polling a running job can see how far along it is.
+// Improving strategies also record their objective over time (the trajectory).
+public class SolverContext {
+  // Enough to plot; later improvements overwrite the last point once the list is full
+  private static final int MAX_TRAJECTORY_POINTS = 500;
+
+  private final Instant startedAt = Instant.now();
+  private final long startNanos;
+  private final long deadlineNanos;
+  private volatile boolean cancelled;
+  private volatile long finishedNanos;
+  private volatile boolean finished;
+  private volatile long expectedWork = 1;
+  private final AtomicLong doneWork = new AtomicLong();
+  private final List<ObjectivePoint> trajectory = new ArrayList<>();
+  private volatile Optimality optimality;
+
+  private SolverContext(long startNanos, long deadlineNanos) {
+    this.startNanos = startNanos;
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  public static SolverContext unbounded() {
+    return new SolverContext(System.nanoTime(), Long.MAX_VALUE);
+  }
+
+  public static SolverContext withBudget(Duration budget) {
+    if (budget == null) {
+      return unbounded();
+    }
+    long start = System.nanoTime();
+    return new SolverContext(start, start + budget.toNanos());
+  }
+
+  public boolean isExpired() {
+    return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0;
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  public boolean hasDeadline() {
+    return deadlineNanos != Long.MAX_VALUE;
+  }
+
+  // Share of the time budget used so far, 0..1; always 0 without a deadline
+  public double budgetUsed() {
+    if (!hasDeadline()) {
+      return 0;
+    }
+    return Math.min(1.0, (double) (System.nanoTime() - startNanos) / (deadlineNanos - startNanos));
+  }
+
+  public boolean shouldStop() {
+    return cancelled || isExpired();
+  }
+
+  // Progress is counted in strategy-defined work units (e.g. courses placed) and may be
+  // reported from several threads when components are solved in parallel
+  public void expectWork(long units) {
+    expectedWork = Math.max(1, units);
+  }
+
+  public void addWork(long units) {
+    doneWork.addAndGet(units);
+  }
+
+  // Fraction of the solve done, 0..1
+  public double progress() {
+    return Math.min(1.0, (double) doneWork.get() / expectedWork);
+  }
+
+  // Records the objective of the best plan so far. The first point (the starting plan) is
+  // always kept; after it, at most one point per millisecond.
+  public synchronized void recordObjective(int unassignedCount, long totalCost) {
+    ObjectivePoint point = new ObjectivePoint(elapsedMillis(), unassignedCount, totalCost);
+    int last = trajectory.size() - 1;
+    if (last >= 1 && (trajectory.get(last).getElapsedMs() == point.getElapsedMs()
+        || trajectory.size() == MAX_TRAJECTORY_POINTS)) {
+      trajectory.set(last, point);
+    } else {
+      trajectory.add(point);
+    }
+  }
+
+  // Empty for strategies that do not improve a plan over time
+  public synchronized List<ObjectivePoint> trajectory() {
+    return List.copyOf(trajectory);
+  }
+
+  // Set once the plan is known, null before (or when it was not measured)
+  public void recordOptimality(Optimality measured) {
+    optimality = measured;
+  }
+
+  public Optimality optimality() {
+    return optimality;
+  }
+
+  public Instant startedAt() {
+    return startedAt;
+  }
+
+  // Stops the clock, so a plan persisted later still reports its solve time only
+  public void finish() {
+    if (!finished) {
+      finishedNanos = System.nanoTime();
+      finished = true;
+    }
+  }
+
+  public long elapsedMillis() {
+    return ((finished ? finishedNanos : System.nanoTime()) - startNanos) / 1_000_000;
+  }
+
+  @Value
+  public static class ObjectivePoint {
+    long elapsedMs;
+    int unassignedCount;
+    // Sum of AssignmentCost over the assigned courses
+    long totalCost;
+  }
+
+  // See SolverModel.objectiveOf / lowerBound; gap = (objective - lowerBound) / objective
+  @Value
+  public static class Optimality {
+    long objective;
+    long lowerBound;
+    double gap;
+  }
+}
@@ -0,0 +1,368 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+
+// A TermSnapshot compiled into dense indices (faculty 0..F-1, course 0..C-1) and flat arrays,
+// so solvers work on array lookups instead of UUID-keyed maps. Candidates are stored CSR-style:
+// the interested faculties of course c are the slots candStart[c] .. candStart[c + 1] - 1,
+// kept in snapshot preference order. Immutable once compiled; never write to the arrays.
+public final class SolverModel {
+  final TermSnapshot snapshot;
+  final Map<UUID, Integer> facultyIndex;
+  final Map<UUID, Integer> courseIndex;
+  final int facultyCount;
+  final int courseCount;
+
+  // Per faculty
+  final int[] facultySeniority;
+  final double[] facultyRating;
+  final int[] facultyMaxHours;
+  final int[] facultyMaxCourses;
+
+  // Per course
+  final int[] courseHours;
+  final int[] courseBestRank;
+  // Greedy visiting order: by best preference rank, ties by course index.
+  // Courses dropped by an override are left out, so no engine plans or reports them.
+  final int[] courseOrder;
+
+  // Per candidate slot
+  final int[] candStart;
+  final int[] candCourse;
+  final int[] candFaculty;
+  final int[] candRank;
+  final int[] candCost;
+  // Slot can never be used: faculty already linked to the course in course_faculty,
+  // or the course was dropped by a what-if override
+  final boolean[] candTeaching;
+
+  // Faculty -> candidate slots, slots of faculty f are facSlots[facStart[f] .. facStart[f + 1] - 1]
+  final int[] facStart;
+  final int[] facSlots;
+
+  // Derived lazily; recomputing on a race is harmless since the result is the same
+  private volatile SolverComponents components;
+  private volatile CandidateKeys candidateKeys;
+
+  private SolverModel(TermSnapshot snapshot, Map<UUID, Integer> facultyIndex,
+      Map<UUID, Integer> courseIndex, int[] facultySeniority, double[] facultyRating,
+      int[] facultyMaxHours, int[] facultyMaxCourses, int[] courseHours, int[] courseBestRank, int[] courseOrder,
+      int[] candStart, int[] candCourse, int[] candFaculty, int[] candRank, int[] candCost,
+      boolean[] candTeaching, int[] facStart, int[] facSlots) {
+    this.snapshot = snapshot;
+    this.facultyIndex = facultyIndex;
+    this.courseIndex = courseIndex;
+    this.facultyCount = facultySeniority.length;
+    this.courseCount = courseHours.length;
+    this.facultySeniority = facultySeniority;
+    this.facultyRating = facultyRating;
+    this.facultyMaxHours = facultyMaxHours;
+    this.facultyMaxCourses = facultyMaxCourses;
+    this.courseHours = courseHours;
+    this.courseBestRank = courseBestRank;
+    this.courseOrder = courseOrder;
+    this.candStart = candStart;
+    this.candCourse = candCourse;
+    this.candFaculty = candFaculty;
+    this.candRank = candRank;
+    this.candCost = candCost;
+    this.candTeaching = candTeaching;
+    this.facStart = facStart;
+    this.facSlots = facSlots;
+  }
+
+  public static SolverModel compile(TermSnapshot snapshot) {
+    List<FacultyInfo> faculties = snapshot.getFaculties();
+    List<CourseInfo> courses = snapshot.getCourses();
+    int facultyCount = faculties.size();
+    int courseCount = courses.size();
+
+    Map<UUID, Integer> facultyIndex = new HashMap<>(facultyCount * 2);
+    int[] seniority = new int[facultyCount];
+    double[] rating = new double[facultyCount];
+    int[] maxHours = new int[facultyCount];
+    int[] maxCourses = new int[facultyCount];
+    for (int f = 0; f < facultyCount; f++) {
+      FacultyInfo faculty = faculties.get(f);
+      facultyIndex.put(faculty.getId(), f);
+      seniority[f] = faculty.getSeniorityScore();
+      rating[f] = faculty.getRating();
+      maxHours[f] = faculty.getMaxHoursPerWeek();
+      maxCourses[f] = faculty.getMaxCourses();
+    }
+
+    Map<UUID, Integer> courseIndex = new HashMap<>(courseCount * 2);
+    int[] hours = new int[courseCount];
+    for (int c = 0; c < courseCount; c++) {
+      courseIndex.put(courses.get(c).getId(), c);
+      hours[c] = courses.get(c).getHoursRequiredPerWeek();
+    }
+
+    // Counting pass, then fill: preferences arrive grouped by faculty, CSR wants them by course
+    List<PreferenceInfo> preferences = snapshot.getPreferences();
+    int[] prefFaculty = new int[preferences.size()];
+    int[] prefCourse = new int[preferences.size()];
+    int[] candStart = new int[courseCount + 1];
+    for (int i = 0; i < preferences.size(); i++) {
+      PreferenceInfo pref = preferences.get(i);
+      Integer f = facultyIndex.get(pref.getFacultyId());
+      Integer c = courseIndex.get(pref.getCourseId());
+      prefFaculty[i] = f != null ? f : -1;
+      prefCourse[i] = c != null ? c : -1;
+      if (f != null && c != null) {
+        candStart[c + 1]++;
+      }
+    }
+    for (int c = 0; c < courseCount; c++) {
+      candStart[c + 1] += candStart[c];
+    }
+
+    int slots = candStart[courseCount];
+    int[] candCourse = new int[slots];
+    int[] candFaculty = new int[slots];
+    int[] candRank = new int[slots];
+    int[] candCost = new int[slots];
+    boolean[] candTeaching = new boolean[slots];
+    int[] fill = Arrays.copyOf(candStart, courseCount);
+    int[] facCounts = new int[facultyCount + 1];
+    int[] bestRank = new int[courseCount];
+    Arrays.fill(bestRank, Integer.MAX_VALUE);
+    for (int i = 0; i < preferences.size(); i++) {
+      int f = prefFaculty[i];
+      int c = prefCourse[i];
+      if (f < 0 || c < 0) {
+        continue;
+      }
+      int rank = preferences.get(i).getRank();
+      int s = fill[c]++;
+      candCourse[s] = c;
+      candFaculty[s] = f;
+      candRank[s] = rank;
+      candCost[s] = AssignmentCost.of(seniority[f], rating[f], rank);
+      facCounts[f + 1]++;
+      bestRank[c] = Math.min(bestRank[c], rank);
+    }
+    for (int c = 0; c < courseCount; c++) {
+      Set<UUID> teachers = snapshot.teachersOf(courses.get(c).getId());
+      if (teachers.isEmpty()) {
+        continue;
+      }
+      for (int s = candStart[c]; s < candStart[c + 1]; s++) {
+        candTeaching[s] = teachers.contains(faculties.get(candFaculty[s]).getId());
+      }
+    }
+
+    int[] facStart = facCounts;
+    for (int f = 0; f < facultyCount; f++) {
+      facStart[f + 1] += facStart[f];
+    }
+    int[] facSlots = new int[slots];
+    int[] facFill = Arrays.copyOf(facStart, facultyCount);
+    for (int s = 0; s < slots; s++) {
+      facSlots[facFill[candFaculty[s]]++] = s;
+    }
+
+    int[] courseOrder = sortByBestRank(bestRank);
+
+    return new SolverModel(snapshot, facultyIndex, courseIndex, seniority, rating, maxHours, maxCourses, hours,
+        bestRank, courseOrder, candStart, candCourse, candFaculty, candRank, candCost, candTeaching, facStart, facSlots);
+  }
+
+  // Copy-on-write what-if variants: the result shares every array with this model except the
+  // one the override changes, so a scenario costs a single array copy instead of a recompile
+
+  // maxHoursPerWeek overrides by faculty id, in place of the faculty's own value, so the tier
+  // caps of the limits still apply to them as they would to a stored value; faculties outside
+  // the model are ignored
+  public SolverModel withMaxHours(Map<UUID, Integer> maxHoursByFaculty, AssignmentLimits limits) {
+    if (maxHoursByFaculty.isEmpty()) {
+      return this;
+    }
+    int[] maxHours = facultyMaxHours.clone();
+    maxHoursByFaculty.forEach((facultyId, hours) -> {
+      int f = facultyIndexOf(facultyId);
+      if (f >= 0) {
+        maxHours[f] = limits.maxHours(facultySeniority[f], hours);
+      }
+    });
+    return copy(maxHours, facultyMaxCourses, courseOrder, candTeaching);
+  }
+
+  // The term as if the given courses were not offered; their slots are blocked as well, so a
+  // dropped course no longer ties faculties into one component
+  public SolverModel withoutCourses(Collection<UUID> courseIds) {
+    if (courseIds.isEmpty()) {
+      return this;
+    }
+    boolean[] blocked = candTeaching.clone();
+    boolean[] drop = new boolean[courseCount];
+    for (UUID courseId : courseIds) {
+      int c = courseIndexOf(courseId);
+      if (c >= 0) {
+        drop[c] = true;
+        Arrays.fill(blocked, candStart[c], candStart[c + 1], true);
+      }
+    }
+    int[] order = Arrays.stream(courseOrder).filter(c -> !drop[c]).toArray();
+    return copy(facultyMaxHours, facultyMaxCourses, order, blocked);
+  }
+
+  // What is left to solve once the state's assignments are fixed: their courses are left out
+  // with their slots blocked, and each faculty keeps only the hours and courses still free
+  SolverModel withPinned(SolverState pinned) {
+    int[] maxHours = facultyMaxHours.clone();
+    int[] maxCourses = facultyMaxCourses.clone();
+    for (int f = 0; f < facultyCount; f++) {
+      maxHours[f] -= pinned.hoursUsed[f];
+      maxCourses[f] -= pinned.courseCount[f];
+    }
+    boolean[] blocked = candTeaching.clone();
+    for (int c = 0; c < courseCount; c++) {
+      if (pinned.assignedSlot[c] >= 0) {
+        Arrays.fill(blocked, candStart[c], candStart[c + 1], true);
+      }
+    }
+    int[] order = Arrays.stream(courseOrder).filter(c -> pinned.assignedSlot[c] < 0).toArray();
+    return copy(maxHours, maxCourses, order, blocked);
+  }
+
+  private SolverModel copy(int[] facultyMaxHours, int[] facultyMaxCourses, int[] courseOrder,
+      boolean[] candTeaching) {
+    return new SolverModel(snapshot, facultyIndex, courseIndex, facultySeniority, facultyRating, facultyMaxHours,
+        facultyMaxCourses, courseHours, courseBestRank, courseOrder, candStart, candCourse, candFaculty, candRank, candCost,
+        candTeaching, facStart, facSlots);
+  }
+
+  // Stable ordering of courses by best rank, without boxing
+  private static int[] sortByBestRank(int[] bestRank) {
+    long[] keys = new long[bestRank.length];
+    for (int c = 0; c < bestRank.length; c++) {
+      keys[c] = ((long) bestRank[c] << 32) | c;
+    }
+    Arrays.sort(keys);
+    int[] order = new int[bestRank.length];
+    for (int i = 0; i < keys.length; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  public int facultyCount() {
+    return facultyCount;
+  }
+
+  public int courseCount() {
+    return courseCount;
+  }
+
+  public TermSnapshot snapshot() {
+    return snapshot;
+  }
+
+  // Dense index of a faculty / course id, -1 when it is not part of this model
+  int facultyIndexOf(UUID facultyId) {
+    return facultyIndex.getOrDefault(facultyId, -1);
+  }
+
+  int courseIndexOf(UUID courseId) {
+    return courseIndex.getOrDefault(courseId, -1);
+  }
+
+  // Candidate slot of faculty f for course c, -1 when f did not rank c
+  int slotOf(int c, int f) {
+    for (int s = candStart[c]; s < candStart[c + 1]; s++) {
+      if (candFaculty[s] == f) {
+        return s;
+      }
+    }
+    return -1;
+  }
+
+  SolverComponents components() {
+    SolverComponents result = components;
+    if (result == null) {
+      result = SolverComponents.of(this);
+      components = result;
+    }
+    return result;
+  }
+
+  CandidateKeys candidateKeys() {
+    CandidateKeys result = candidateKeys;
+    if (result == null) {
+      result = CandidateKeys.of(this);
+      candidateKeys = result;
+    }
+    return result;
+  }
+
+  // Weight of one unassigned course in the objective: more than any cost change one move can
+  // bring (dropping one course and re-placing another), so fewer unassigned always wins
+  long unassignedPenalty() {
+    int maxCost = 0;
+    for (int cost : candCost) {
+      maxCost = Math.max(maxCost, cost);
+    }
+    return 2L * maxCost + 1;
+  }
+
+  // Objective of a plan for this term, lower is better:
+  //   unassigned courses * unassignedPenalty() + total AssignmentCost of the assigned ones
+  // Assignments that are not candidates of this model count as unassigned
+  public long objectiveOf(AssignmentPlan plan) {
+    long penalty = unassignedPenalty();
+    long objective = penalty * courseOrder.length;
+    for (Assignment assignment : plan.getAssignments()) {
+      int c = courseIndexOf(assignment.getCourseId());
+      int f = facultyIndexOf(assignment.getFacultyId());
+      int s = c >= 0 && f >= 0 ? slotOf(c, f) : -1;
+      if (s >= 0) {
+        objective += candCost[s] - penalty;
+      }
+    }
+    return objective;
+  }
+
+  // The plan's objective against a lower bound for the term; a gap of 0 means the plan is
+  // provably optimal. A warm-started plan may keep pairs already linked in course_faculty, which
+  // the bound never uses, so it is capped at the objective.
+  public SolverContext.Optimality optimalityOf(AssignmentPlan plan) {
+    long objective = objectiveOf(plan);
+    long bound = LagrangianBound.of(this, objective);
+    double gap = objective == 0 ? 0.0 : (double) (objective - bound) / objective;
+    return new SolverContext.Optimality(objective, bound, gap);
+  }
+
+  public SolverState newState() {
+    return new SolverState(this);
+  }
+
+  // Plan rows follow the greedy course order so every engine reports in the same order
+  public AssignmentPlan toPlan(SolverState state) {
+    List<FacultyInfo> faculties = snapshot.getFaculties();
+    List<CourseInfo> courses = snapshot.getCourses();
+    List<Assignment> assignments = new ArrayList<>();
+    List<UUID> unassigned = new ArrayList<>();
+    for (int c : courseOrder) {
+      int s = state.assignedSlot[c];
+      if (s < 0) {
+        unassigned.add(courses.get(c).getId());
+      } else {
+        assignments.add(new Assignment(faculties.get(candFaculty[s]).getId(), courses.get(c).getId(), candRank[s]));
+      }
+    }
+    return new AssignmentPlan(List.copyOf(assignments), List.copyOf(unassigned));
+  }
+}
@@ -0,0 +1,62 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.Arrays;
+
+// Mutable per-run assignment state over a SolverModel. All checks and updates are
+// array reads and writes; nothing here allocates after construction.
+public final class SolverState {
+  final SolverModel model;
+  final int[] hoursUsed;
+  // A byte is enough: AssignmentLimits.MAX_COURSES bounds every faculty's maxCourses
+  final byte[] courseCount;
+  // Candidate slot assigned to each course, -1 when unassigned
+  final int[] assignedSlot;
+
+  SolverState(SolverModel model) {
+    this.model = model;
+    this.hoursUsed = new int[model.facultyCount];
+    this.courseCount = new byte[model.facultyCount];
+    this.assignedSlot = new int[model.courseCount];
+    Arrays.fill(assignedSlot, -1);
+  }
+
+  // Whether the candidate in slot s can take course c on top of their current load
+  boolean canTake(int c, int s) {
+    return !model.candTeaching[s] && hasRoom(c, s);
+  }
+
+  // Course and hour limits only; a slot that is already linked in course_faculty still has room
+  boolean hasRoom(int c, int s) {
+    int f = model.candFaculty[s];
+    return courseCount[f] < model.facultyMaxCourses[f]
+        && hoursUsed[f] + model.courseHours[c] <= model.facultyMaxHours[f];
+  }
+
+  void assign(int c, int s) {
+    int f = model.candFaculty[s];
+    assignedSlot[c] = s;
+    hoursUsed[f] += model.courseHours[c];
+    courseCount[f]++;
+  }
+
+  void unassign(int c) {
+    int s = assignedSlot[c];
+    if (s < 0) {
+      return;
+    }
+    int f = model.candFaculty[s];
+    assignedSlot[c] = -1;
+    hoursUsed[f] -= model.courseHours[c];
+    courseCount[f]--;
+  }
+
+  public int assignedCount() {
+    int count = 0;
+    for (int s : assignedSlot) {
+      if (s >= 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
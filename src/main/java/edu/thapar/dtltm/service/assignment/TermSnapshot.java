@@ -0,0 +1,100 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.Value;
+
+// Immutable, detached view of everything the assignment solver needs for one term.
+// Built by TermSnapshotLoader in a fixed number of queries; holds no JPA entities.
+@Value
+public class TermSnapshot {
+  UUID termId;
+
+  // Faculties owning a CLOSED preference set for the term
+  List<FacultyInfo> faculties;
+
+  // Courses ranked by at least one of those faculties, ordered by code
+  List<CourseInfo> courses;
+
+  // Preference rows ordered by preference set, then rank
+  List<PreferenceInfo> preferences;
+
+  // courseId -> faculty ids already linked in course_faculty
+  Map<UUID, Set<UUID>> existingTeachers;
+
+  public Set<UUID> teachersOf(UUID courseId) {
+    return existingTeachers.getOrDefault(courseId, Set.of());
+  }
+
+  // The assignment already in course_faculty, as far as it lines up with the term's preferences:
+  // a course counts as assigned to the first faculty (in preference order) who ranked it and
+  // already teaches it. Links to faculties who did not rank the course are not part of the plan.
+  public AssignmentPlan currentPlan() {
+    Map<UUID, AssignmentPlan.Assignment> byCourse = new HashMap<>();
+    for (PreferenceInfo pref : preferences) {
+      if (!byCourse.containsKey(pref.getCourseId()) && teachersOf(pref.getCourseId()).contains(pref.getFacultyId())) {
+        byCourse.put(pref.getCourseId(),
+            new AssignmentPlan.Assignment(pref.getFacultyId(), pref.getCourseId(), pref.getRank()));
+      }
+    }
+    List<AssignmentPlan.Assignment> assignments = new ArrayList<>();
+    List<UUID> unassigned = new ArrayList<>();
+    for (CourseInfo course : courses) {
+      AssignmentPlan.Assignment assignment = byCourse.get(course.getId());
+      if (assignment != null) {
+        assignments.add(assignment);
+      } else {
+        unassigned.add(course.getId());
+      }
+    }
+    return new AssignmentPlan(List.copyOf(assignments), List.copyOf(unassigned));
+  }
+
+  // Same term without the given course_faculty links, so a solver may hand those courses out again
+  public TermSnapshot withoutTeachers(List<AssignmentPlan.Assignment> links) {
+    Map<UUID, Set<UUID>> teachers = new HashMap<>(existingTeachers);
+    for (AssignmentPlan.Assignment link : links) {
+      Set<UUID> current = teachers.get(link.getCourseId());
+      if (current != null && current.contains(link.getFacultyId())) {
+        Set<UUID> remaining = new HashSet<>(current);
+        remaining.remove(link.getFacultyId());
+        teachers.put(link.getCourseId(), Set.copyOf(remaining));
+      }
+    }
+    return new TermSnapshot(termId, faculties, courses, preferences, Map.copyOf(teachers));
+  }
+
+  @Value
+  public static class FacultyInfo {
+    UUID id;
+    UUID preferenceSetId;
+    String name;
+    int seniorityScore;
+    double rating;
+    // Effective limits for the term, after AssignmentLimits
+    int maxHoursPerWeek;
+    int maxCourses;
+  }
+
+  @Value
+  public static class CourseInfo {
+    UUID id;
+    String code;
+    String name;
+    int hoursRequiredPerWeek;
+  }
+
+  @Value
+  public static class PreferenceInfo {
+    UUID facultyId;
+    UUID preferenceSetId;
+    UUID courseId;
+    int rank;
+  }
+}
@@ -0,0 +1,159 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.thapar.dtltm.model.Course;
+import edu.thapar.dtltm.model.Faculty;
+import edu.thapar.dtltm.model.PreferenceSet;
+import edu.thapar.dtltm.model.PreferenceSet.Status;
+import edu.thapar.dtltm.repository.CourseRepository;
+import edu.thapar.dtltm.repository.CourseRepository.CourseFacultyLink;
+import edu.thapar.dtltm.repository.FacultyCoursePreferenceRepository;
+import edu.thapar.dtltm.repository.FacultyCoursePreferenceRepository.PreferenceRow;
+import edu.thapar.dtltm.repository.PreferenceSetRepository;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Loads a TermSnapshot with four queries regardless of term size:
+// closed sets (+faculty), preference rows, ranked courses and their course_faculty links.
+// loadAll does the same for a batch of terms, still in four queries.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TermSnapshotLoader {
+  private final PreferenceSetRepository preferenceSetRepository;
+  private final FacultyCoursePreferenceRepository facultyCoursePreferenceRepository;
+  private final CourseRepository courseRepository;
+  private final AssignmentLimits limits;
+
+  @Transactional(readOnly = true)
+  public TermSnapshot load(UUID termId) {
+    long start = System.nanoTime();
+
+    List<PreferenceSet> sets = preferenceSetRepository.findWithFacultyByTermAndStatus(termId, Status.CLOSED);
+    List<FacultyInfo> faculties = sets.stream()
+        .map(set -> toFacultyInfo(set.getFaculty(), set.getId()))
+        .toList();
+
+    List<PreferenceInfo> preferences = facultyCoursePreferenceRepository
+        .findRowsByTermAndStatus(termId, Status.CLOSED)
+        .stream()
+        .map(TermSnapshotLoader::toPreferenceInfo)
+        .toList();
+
+    List<CourseInfo> courses = courseRepository.findPreferredInTerm(termId, Status.CLOSED)
+        .stream()
+        .map(TermSnapshotLoader::toCourseInfo)
+        .toList();
+
+    Map<UUID, Set<UUID>> teachers = new HashMap<>();
+    for (CourseFacultyLink link : courseRepository.findTeacherLinksInTerm(termId, Status.CLOSED)) {
+      teachers.computeIfAbsent(link.getCourseId(), k -> new HashSet<>()).add(link.getFacultyId());
+    }
+    Map<UUID, Set<UUID>> existingTeachers = new HashMap<>();
+    teachers.forEach((courseId, facultyIds) -> existingTeachers.put(courseId, Set.copyOf(facultyIds)));
+
+    log.debug("Loaded snapshot for term {}: {} faculties, {} courses, {} preferences in {} ms",
+        termId, faculties.size(), courses.size(), preferences.size(),
+        (System.nanoTime() - start) / 1_000_000);
+
+    return new TermSnapshot(termId, faculties, courses, preferences, Map.copyOf(existingTeachers));
+  }
+
+  // Several terms with the same four queries as one. Courses and their teachers are read and
+  // mapped once for the whole batch however many terms rank them, then sliced per term.
+  // Every requested term gets a snapshot, possibly without faculties.
+  @Transactional(readOnly = true)
+  public Map<UUID, TermSnapshot> loadAll(Collection<UUID> termIds) {
+    long start = System.nanoTime();
+
+    Map<UUID, UUID> termOfSet = new HashMap<>();
+    Map<UUID, List<FacultyInfo>> faculties = new HashMap<>();
+    for (PreferenceSet set : preferenceSetRepository.findWithFacultyByTermInAndStatus(termIds, Status.CLOSED)) {
+      UUID termId = set.getTerm().getId();
+      termOfSet.put(set.getId(), termId);
+      faculties.computeIfAbsent(termId, k -> new ArrayList<>()).add(toFacultyInfo(set.getFaculty(), set.getId()));
+    }
+
+    Map<UUID, List<PreferenceInfo>> preferences = new HashMap<>();
+    Map<UUID, Set<UUID>> rankedCourses = new HashMap<>();
+    List<PreferenceRow> rows = facultyCoursePreferenceRepository.findRowsByTermInAndStatus(termIds, Status.CLOSED);
+    for (PreferenceRow row : rows) {
+      UUID termId = termOfSet.get(row.getPreferenceSetId());
+      preferences.computeIfAbsent(termId, k -> new ArrayList<>()).add(toPreferenceInfo(row));
+      rankedCourses.computeIfAbsent(termId, k -> new HashSet<>()).add(row.getCourseId());
+    }
+
+    List<CourseInfo> courses = courseRepository.findPreferredInTerms(termIds, Status.CLOSED)
+        .stream()
+        .map(TermSnapshotLoader::toCourseInfo)
+        .toList();
+
+    Map<UUID, Set<UUID>> teachers = new HashMap<>();
+    for (CourseFacultyLink link : courseRepository.findTeacherLinksInTerms(termIds, Status.CLOSED)) {
+      teachers.computeIfAbsent(link.getCourseId(), k -> new HashSet<>()).add(link.getFacultyId());
+    }
+    Map<UUID, Set<UUID>> existingTeachers = new HashMap<>();
+    teachers.forEach((courseId, facultyIds) -> existingTeachers.put(courseId, Set.copyOf(facultyIds)));
+
+    Map<UUID, TermSnapshot> snapshots = new LinkedHashMap<>();
+    for (UUID termId : termIds) {
+      Set<UUID> ranked = rankedCourses.getOrDefault(termId, Set.of());
+      Map<UUID, Set<UUID>> termTeachers = new HashMap<>();
+      for (UUID courseId : ranked) {
+        Set<UUID> courseTeachers = existingTeachers.get(courseId);
+        if (courseTeachers != null) {
+          termTeachers.put(courseId, courseTeachers);
+        }
+      }
+      snapshots.put(termId, new TermSnapshot(
+          termId,
+          List.copyOf(faculties.getOrDefault(termId, List.of())),
+          courses.stream().filter(course -> ranked.contains(course.getId())).toList(),
+          List.copyOf(preferences.getOrDefault(termId, List.of())),
+          Map.copyOf(termTeachers)));
+    }
+
+    log.debug("Loaded snapshots for {} terms: {} preference sets, {} courses, {} preferences in {} ms",
+        snapshots.size(), termOfSet.size(), courses.size(), rows.size(),
+        (System.nanoTime() - start) / 1_000_000);
+    return snapshots;
+  }
+
+  private FacultyInfo toFacultyInfo(Faculty faculty, UUID preferenceSetId) {
+    return new FacultyInfo(
+        faculty.getId(),
+        preferenceSetId,
+        faculty.getName(),
+        faculty.getSeniorityScore() != null ? faculty.getSeniorityScore() : 1,
+        faculty.getRating() != null ? faculty.getRating() : 1.0,
+        limits.maxHours(faculty),
+        limits.maxCourses(faculty));
+  }
+
+  private static CourseInfo toCourseInfo(Course course) {
+    return new CourseInfo(
+        course.getId(),
+        course.getCode(),
+        course.getName(),
+        course.getHoursRequiredPerWeek() != null ? course.getHoursRequiredPerWeek() : 3);
+  }
+
+  private static PreferenceInfo toPreferenceInfo(PreferenceRow row) {
+    return new PreferenceInfo(row.getFacultyId(), row.getPreferenceSetId(), row.getCourseId(), row.getRank());
+  }
+}
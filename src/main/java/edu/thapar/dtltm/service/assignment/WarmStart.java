@@ -0,0 +1,64 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.List;
+
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+
+// Seeds a run with an earlier plan, typically the previous term's. A pair is kept when the
+// faculty still ranks the course this term and it fits their course and hour limits; pairs
+// are taken in the earlier plan's order. Kept pairs are fixed and the strategy only solves
+// the remaining courses, with whatever capacity the kept pairs leave.
+// A kept pair may already be linked in course_faculty; that is the point, it needs no change.
+public final class WarmStart {
+  private final SolverModel model;
+  private final SolverState pinned;
+  private final int kept;
+
+  private WarmStart(SolverModel model, SolverState pinned, int kept) {
+    this.model = model;
+    this.pinned = pinned;
+    this.kept = kept;
+  }
+
+  public static WarmStart of(SolverModel model, List<Assignment> previous) {
+    SolverState pinned = model.newState();
+    int kept = 0;
+    for (Assignment assignment : previous) {
+      int f = model.facultyIndexOf(assignment.getFacultyId());
+      int c = model.courseIndexOf(assignment.getCourseId());
+      if (f < 0 || c < 0 || pinned.assignedSlot[c] >= 0) {
+        continue;
+      }
+      int s = model.slotOf(c, f);
+      if (s >= 0 && pinned.hasRoom(c, s)) {
+        pinned.assign(c, s);
+        kept++;
+      }
+    }
+    return new WarmStart(model, pinned, kept);
+  }
+
+  public int kept() {
+    return kept;
+  }
+
+  public AssignmentPlan solve(AssignmentStrategy strategy, SolverContext context) {
+    if (kept == 0) {
+      return strategy.solve(model, context);
+    }
+    AssignmentPlan remainder = strategy.solve(model.withPinned(pinned), context);
+
+    // Kept pairs plus the remainder's, reported in the model's course order like any plan
+    SolverState state = model.newState();
+    for (int c = 0; c < model.courseCount; c++) {
+      if (pinned.assignedSlot[c] >= 0) {
+        state.assign(c, pinned.assignedSlot[c]);
+      }
+    }
+    for (Assignment assignment : remainder.getAssignments()) {
+      int c = model.courseIndexOf(assignment.getCourseId());
+      state.assign(c, model.slotOf(c, model.facultyIndexOf(assignment.getFacultyId())));
+    }
+    return model.toPlan(state);
+  }
+}
@@ -0,0 +1,145 @@
+package edu.thapar.dtltm.kafka;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.thapar.dtltm.repository.OutboxJdbcRepository;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Backlog;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Message;
+import edu.thapar.dtltm.repository.OutboxJdbcRepository.Stored;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+  private static final int BATCH_SIZE = 2;
+  private static final Duration SEND_TIMEOUT = Duration.ofMillis(200);
+  private static final Duration CLAIM_LEASE = SEND_TIMEOUT.multipliedBy(2);
+
+  @Mock
+  private KafkaTemplate<String, String> kafkaTemplate;
+  @Mock
+  private OutboxJdbcRepository outboxRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private OutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    relay = new OutboxRelay(kafkaTemplate, outboxRepository, transactionManager, new SimpleMeterRegistry(),
+        BATCH_SIZE, SEND_TIMEOUT);
+    when(outboxRepository.backlog()).thenReturn(new Backlog(0, null));
+  }
+
+  // Claim and delete each commit on their own; the send runs between them, outside both
+  @Test
+  void sendsTheClaimedBatchBetweenTwoTransactions() {
+    List<Stored> batch = List.of(stored(1));
+    givenClaimable(batch);
+    when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+    relay.relay();
+
+    InOrder order = inOrder(transactionManager, outboxRepository, kafkaTemplate);
+    order.verify(transactionManager).getTransaction(any());
+    order.verify(outboxRepository).claimOldest(BATCH_SIZE, CLAIM_LEASE);
+    order.verify(transactionManager).commit(any());
+    order.verify(kafkaTemplate).send("topic", "key-1", "payload-1");
+    order.verify(kafkaTemplate).flush();
+    order.verify(transactionManager).getTransaction(any());
+    order.verify(outboxRepository).delete(batch);
+    order.verify(transactionManager).commit(any());
+    verify(outboxRepository, never()).release(any());
+  }
+
+  @Test
+  void releasesTheBatchWhenKafkaFails() {
+    List<Stored> batch = List.of(stored(1), stored(2));
+    givenClaimable(batch);
+    when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+        .thenReturn(CompletableFuture.completedFuture(null))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+    relay.relay();
+
+    verify(outboxRepository).release(batch);
+    verify(outboxRepository, never()).delete(any());
+  }
+
+  @Test
+  void releasesTheBatchWhenKafkaDoesNotAnswerInTime() {
+    List<Stored> batch = List.of(stored(1));
+    givenClaimable(batch);
+    when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+
+    relay.relay();
+
+    verify(outboxRepository).release(batch);
+    verify(outboxRepository, never()).delete(any());
+  }
+
+  @Test
+  void claimsNothingWhileAnotherBatchIsInFlight() {
+    when(outboxRepository.tryLockForRelay()).thenReturn(true);
+    when(outboxRepository.hasActiveClaim()).thenReturn(true);
+
+    relay.relay();
+
+    verify(outboxRepository, never()).claimOldest(anyInt(), any());
+    verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void claimsNothingWithoutTheRelayLock() {
+    when(outboxRepository.tryLockForRelay()).thenReturn(false);
+
+    relay.relay();
+
+    verify(outboxRepository, never()).claimOldest(anyInt(), any());
+  }
+
+  @Test
+  void drainsABacklogWhileBatchesComeBackFull() {
+    List<Stored> first = List.of(stored(1), stored(2));
+    List<Stored> second = List.of(stored(3));
+    when(outboxRepository.tryLockForRelay()).thenReturn(true);
+    when(outboxRepository.hasActiveClaim()).thenReturn(false);
+    when(outboxRepository.claimOldest(BATCH_SIZE, CLAIM_LEASE)).thenReturn(first).thenReturn(second);
+    when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+    relay.relay();
+
+    verify(outboxRepository).delete(first);
+    verify(outboxRepository).delete(second);
+    verify(outboxRepository, times(2)).claimOldest(BATCH_SIZE, CLAIM_LEASE);
+  }
+
+  private void givenClaimable(List<Stored> batch) {
+    when(outboxRepository.tryLockForRelay()).thenReturn(true);
+    when(outboxRepository.hasActiveClaim()).thenReturn(false);
+    when(outboxRepository.claimOldest(BATCH_SIZE, CLAIM_LEASE)).thenReturn(batch);
+  }
+
+  private static Stored stored(long id) {
+    return new Stored(id, new Message("topic", "key-" + id, "payload-" + id));
+  }
+}
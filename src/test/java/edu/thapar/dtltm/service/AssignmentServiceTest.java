@@ -0,0 +1,183 @@
+package edu.thapar.dtltm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.thapar.dtltm.dto.LLMResultRequest;
+import edu.thapar.dtltm.exception.BadRequestException;
+import edu.thapar.dtltm.model.Course;
+import edu.thapar.dtltm.model.Faculty;
+import edu.thapar.dtltm.model.LLMDecision;
+import edu.thapar.dtltm.repository.AcademicTermRepository;
+import edu.thapar.dtltm.repository.CourseFacultyJdbcRepository;
+import edu.thapar.dtltm.repository.CourseFacultyJdbcRepository.Link;
+import edu.thapar.dtltm.repository.CourseRepository;
+import edu.thapar.dtltm.repository.FacultyRepository;
+import edu.thapar.dtltm.repository.PreferenceSetRepository;
+import edu.thapar.dtltm.service.assignment.AssignmentLimits;
+import edu.thapar.dtltm.service.assignment.AssignmentStrategyRegistry;
+import edu.thapar.dtltm.service.assignment.TermSnapshotLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// processLLMResults: answers apply in the order given, each against the load the ones before it left
+@ExtendWith(MockitoExtension.class)
+class AssignmentServiceTest {
+  private static final UUID FACULTY = new UUID(2, 1);
+  private static final UUID TAUGHT = new UUID(1, 0);
+  private static final UUID C1 = new UUID(1, 1);
+  private static final UUID C2 = new UUID(1, 2);
+
+  @Mock
+  private AcademicTermRepository academicTermRepository;
+  @Mock
+  private PreferenceSetRepository preferenceSetRepository;
+  @Mock
+  private CourseRepository courseRepository;
+  @Mock
+  private FacultyRepository facultyRepository;
+  @Mock
+  private LLMFallbackService llmFallbackService;
+  @Mock
+  private LLMDecisionService llmDecisionService;
+  @Mock
+  private TermSnapshotLoader termSnapshotLoader;
+  @Mock
+  private AssignmentStrategyRegistry strategyRegistry;
+  @Mock
+  private AssignmentRunService assignmentRunService;
+  @Mock
+  private CourseFacultyJdbcRepository courseFacultyJdbcRepository;
+  @Captor
+  private ArgumentCaptor<List<LLMDecision>> decisions;
+
+  private AssignmentService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AssignmentService(academicTermRepository, preferenceSetRepository, courseRepository,
+        facultyRepository, llmFallbackService, llmDecisionService, termSnapshotLoader, strategyRegistry,
+        assignmentRunService, new TermRunGuard(), courseFacultyJdbcRepository,
+        AssignmentLimits.compile(AssignmentLimits.DEFAULT_MAX_COURSES, List.of()), new SimpleMeterRegistry());
+  }
+
+  // The faculty teaches one course and may take two: only the first "yes" still fits
+  @Test
+  void earlierAnswerTakesTheLastFreeCourseSlot() {
+    givenFacultyTeachingOneCourse(20);
+    givenCourses(course(C1, 3), course(C2, 3));
+
+    service.processLLMResults(List.of(result(C2, true), result(C1, true)));
+
+    verify(courseFacultyJdbcRepository).insertLinks(List.of(new Link(C2, FACULTY)));
+  }
+
+  // The faculty teaches nothing yet and has hours for one of the two courses
+  @Test
+  void earlierAnswerUsesUpTheHours() {
+    givenFaculty(10);
+    givenCourses(course(C1, 6), course(C2, 6));
+
+    service.processLLMResults(List.of(result(C1, true), result(C2, true)));
+
+    verify(courseFacultyJdbcRepository).insertLinks(List.of(new Link(C1, FACULTY)));
+  }
+
+  @Test
+  void noAnswerTakesNoCapacity() {
+    givenFacultyTeachingOneCourse(20);
+    givenCourses(course(C1, 3), course(C2, 3));
+
+    service.processLLMResults(List.of(result(C1, false), result(C2, true)));
+
+    verify(courseFacultyJdbcRepository).insertLinks(List.of(new Link(C2, FACULTY)));
+  }
+
+  @Test
+  void recordsEveryAnswerAndSkipsUnknownCourses() {
+    givenFacultyTeachingOneCourse(20);
+    givenCourses(course(TAUGHT, 3), course(C1, 3));
+
+    service.processLLMResults(List.of(result(C1, false), result(new UUID(1, 9), true), result(TAUGHT, true)));
+
+    verify(llmDecisionService).recordAll(decisions.capture());
+    assertEquals(List.of(C1, TAUGHT), decisions.getValue().stream().map(LLMDecision::getCourseId).toList());
+    // Already taught: nothing to add
+    verify(courseFacultyJdbcRepository).insertLinks(List.of());
+  }
+
+  @Test
+  void singleNoForAnUnknownFacultyIsIgnored() {
+    when(facultyRepository.findAllById(any())).thenReturn(List.of());
+    when(courseRepository.findAllById(any())).thenReturn(List.of());
+
+    service.processLLMResult(FACULTY, C1, false);
+
+    verify(llmDecisionService).recordAll(List.of());
+    verify(courseFacultyJdbcRepository).insertLinks(List.of());
+  }
+
+  @Test
+  void singleYesForAnUnknownFacultyIsRejected() {
+    when(facultyRepository.existsById(FACULTY)).thenReturn(false);
+
+    assertThrows(BadRequestException.class, () -> service.processLLMResult(FACULTY, C1, true));
+  }
+
+  private void givenFaculty(int maxHours, CourseRepository.TaughtCourse... taught) {
+    Faculty faculty = Faculty.builder().id(FACULTY).name("Faculty").seniorityScore(3).rating(4.0)
+        .maxHoursPerWeek(maxHours).build();
+    when(facultyRepository.findAllById(any())).thenReturn(List.of(faculty));
+    when(courseRepository.findTaughtByAny(any())).thenReturn(List.of(taught));
+  }
+
+  // Teaching a 4-hour course
+  private void givenFacultyTeachingOneCourse(int maxHours) {
+    givenFaculty(maxHours, new CourseRepository.TaughtCourse() {
+      @Override
+      public UUID getFacultyId() {
+        return FACULTY;
+      }
+
+      @Override
+      public UUID getCourseId() {
+        return TAUGHT;
+      }
+
+      @Override
+      public Integer getHoursRequiredPerWeek() {
+        return 4;
+      }
+    });
+  }
+
+  private void givenCourses(Course... courses) {
+    when(courseRepository.findAllById(any())).thenReturn(List.of(courses));
+  }
+
+  private static Course course(UUID id, int hours) {
+    return Course.builder().id(id).code("C" + id.getLeastSignificantBits()).name("Course").hoursRequiredPerWeek(hours)
+        .build();
+  }
+
+  private static LLMResultRequest result(UUID courseId, boolean recommended) {
+    LLMResultRequest result = new LLMResultRequest();
+    result.setFacultyId(FACULTY);
+    result.setCourseId(courseId);
+    result.setRecommended(recommended);
+    return result;
+  }
+}
@@ -0,0 +1,250 @@
+package edu.thapar.dtltm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.thapar.dtltm.kafka.AssignmentKafkaProducer;
+import edu.thapar.dtltm.kafka.AssignmentKafkaProducer.Candidate;
+import edu.thapar.dtltm.kafka.AssignmentKafkaProducer.LLMCourseEvent;
+import edu.thapar.dtltm.model.Course;
+import edu.thapar.dtltm.model.Faculty;
+import edu.thapar.dtltm.model.LLMDecision;
+import edu.thapar.dtltm.repository.CourseFacultyJdbcRepository;
+import edu.thapar.dtltm.repository.CourseFacultyJdbcRepository.Link;
+import edu.thapar.dtltm.repository.CourseRepository;
+import edu.thapar.dtltm.repository.LLMFallbackDispatchJdbcRepository;
+import edu.thapar.dtltm.repository.LLMFallbackDispatchJdbcRepository.Dispatch;
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+import edu.thapar.dtltm.service.assignment.TermSnapshot;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class LLMFallbackServiceTest {
+  private static final Duration DEDUP_TTL = Duration.ofHours(24);
+  private static final UUID TERM = new UUID(0, 1);
+  private static final UUID A = new UUID(2, 1);
+  private static final UUID B = new UUID(2, 2);
+  private static final UUID C1 = new UUID(1, 1);
+  private static final UUID C2 = new UUID(1, 2);
+
+  // A is more senior than B and takes one course at most. Both rank C1, only B ranks C2.
+  private static final FacultyInfo FACULTY_A = new FacultyInfo(A, new UUID(3, 1), "A", 1, 4.0, 10, 1);
+  private static final FacultyInfo FACULTY_B = new FacultyInfo(B, new UUID(3, 2), "B", 2, 4.5, 10, 2);
+  private static final CourseInfo COURSE_1 = new CourseInfo(C1, "C1", "Course 1", 3);
+  private static final CourseInfo COURSE_2 = new CourseInfo(C2, "C2", "Course 2", 3);
+  private static final TermSnapshot SNAPSHOT = new TermSnapshot(TERM,
+      List.of(FACULTY_A, FACULTY_B),
+      List.of(COURSE_1, COURSE_2),
+      List.of(new PreferenceInfo(A, FACULTY_A.getPreferenceSetId(), C1, 2),
+          new PreferenceInfo(B, FACULTY_B.getPreferenceSetId(), C1, 1),
+          new PreferenceInfo(B, FACULTY_B.getPreferenceSetId(), C2, 2)),
+      Map.of());
+
+  @Mock
+  private AssignmentKafkaProducer kafkaProducer;
+  @Mock
+  private LLMFallbackDispatchJdbcRepository dispatchRepository;
+  @Mock
+  private LLMDecisionService llmDecisionService;
+  @Mock
+  private CourseRepository courseRepository;
+  @Mock
+  private CourseFacultyJdbcRepository courseFacultyJdbcRepository;
+  @Captor
+  private ArgumentCaptor<List<LLMCourseEvent>> events;
+  @Captor
+  private ArgumentCaptor<List<Dispatch>> dispatches;
+
+  private LLMFallbackService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new LLMFallbackService(kafkaProducer, dispatchRepository, llmDecisionService, courseRepository,
+        courseFacultyJdbcRepository, new SimpleMeterRegistry(), DEDUP_TTL);
+  }
+
+  @Test
+  void sendsOneEventPerCourseWithCandidatesByPriority() {
+    when(llmDecisionService.findForCourses(any())).thenReturn(Map.of());
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+
+    List<Assignment> assigned = service.dispatch(SNAPSHOT, Set.of(C1, C2));
+
+    assertTrue(assigned.isEmpty());
+    verify(kafkaProducer).sendLLMCourseEvents(events.capture());
+    assertEquals(List.of(C1, C2), events.getValue().stream().map(LLMCourseEvent::getCourseId).toList());
+    assertEquals(Map.of(C1, List.of(A, B), C2, List.of(B)), candidatesByCourse(events.getValue()));
+    verify(dispatchRepository).upsert(eq(TERM), dispatches.capture());
+    assertEquals(2, dispatches.getValue().size());
+  }
+
+  @Test
+  void suppressesAnEventSentUnchangedWithinTheTtl() {
+    when(llmDecisionService.findForCourses(any())).thenReturn(Map.of());
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+    service.dispatch(SNAPSHOT, Set.of(C1, C2));
+    verify(dispatchRepository).upsert(eq(TERM), dispatches.capture());
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(byCourse(dispatches.getValue()));
+
+    service.dispatch(SNAPSHOT, Set.of(C1, C2));
+
+    verify(kafkaProducer, times(2)).sendLLMCourseEvents(events.capture());
+    assertTrue(events.getAllValues().get(1).isEmpty());
+  }
+
+  @Test
+  void resendsAfterTheTtlOrWhenTheCandidatesChanged() {
+    when(llmDecisionService.findForCourses(any())).thenReturn(Map.of());
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+    service.dispatch(SNAPSHOT, Set.of(C1, C2));
+    verify(dispatchRepository).upsert(eq(TERM), dispatches.capture());
+    Map<UUID, Dispatch> sent = byCourse(dispatches.getValue());
+    Dispatch first = sent.get(C1);
+    Dispatch second = sent.get(C2);
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of(
+        C1, new Dispatch(C1, first.getCandidateHash(), Instant.now().minus(DEDUP_TTL).minusSeconds(60)),
+        C2, new Dispatch(C2, second.getCandidateHash() + 1, second.getSentAt())));
+
+    service.dispatch(SNAPSHOT, Set.of(C1, C2));
+
+    verify(kafkaProducer, times(2)).sendLLMCourseEvents(events.capture());
+    assertEquals(2, events.getAllValues().get(1).size());
+  }
+
+  @Test
+  void cachedNoPassesTheCourseToTheNextCandidate() {
+    when(llmDecisionService.findForCourses(any())).thenReturn(decisions(decision(FACULTY_A, COURSE_1, false)));
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+
+    List<Assignment> assigned = service.dispatch(SNAPSHOT, Set.of(C1, C2));
+
+    assertTrue(assigned.isEmpty());
+    verify(kafkaProducer).sendLLMCourseEvents(events.capture());
+    assertEquals(Map.of(C1, List.of(B), C2, List.of(B)), candidatesByCourse(events.getValue()));
+  }
+
+  @Test
+  void cachedYesAssignsTheCourseWhenTheFacultyHasRoom() {
+    when(llmDecisionService.findForCourses(any())).thenReturn(decisions(decision(FACULTY_A, COURSE_1, true)));
+    when(courseRepository.findTaughtByAny(any())).thenReturn(List.of());
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+
+    List<Assignment> assigned = service.dispatch(SNAPSHOT, Set.of(C1, C2));
+
+    assertEquals(List.of(new Assignment(A, C1, 2)), assigned);
+    verify(courseFacultyJdbcRepository).insertLinks(List.of(new Link(C1, A)));
+    verify(kafkaProducer).sendLLMCourseEvents(events.capture());
+    assertEquals(Map.of(C2, List.of(B)), candidatesByCourse(events.getValue()));
+  }
+
+  @Test
+  void cachedYesOverTheFacultysLimitsPassesToTheNextCandidate() {
+    when(llmDecisionService.findForCourses(any())).thenReturn(decisions(decision(FACULTY_A, COURSE_1, true)));
+    when(courseRepository.findTaughtByAny(any())).thenReturn(List.of(taught(A, new UUID(1, 9), 3)));
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+
+    List<Assignment> assigned = service.dispatch(SNAPSHOT, Set.of(C1));
+
+    assertTrue(assigned.isEmpty());
+    verify(courseFacultyJdbcRepository).insertLinks(List.of());
+    verify(kafkaProducer).sendLLMCourseEvents(events.capture());
+    assertEquals(Map.of(C1, List.of(B)), candidatesByCourse(events.getValue()));
+  }
+
+  // The LLM asks A first; if A is turned down, the next run finds B's "yes"
+  @Test
+  void unknownCandidateBeforeACachedYesGoesToTheLlm() {
+    when(llmDecisionService.findForCourses(any())).thenReturn(decisions(decision(FACULTY_B, COURSE_1, true)));
+    when(courseRepository.findTaughtByAny(any())).thenReturn(List.of());
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+
+    List<Assignment> assigned = service.dispatch(SNAPSHOT, Set.of(C1));
+
+    assertTrue(assigned.isEmpty());
+    verify(kafkaProducer).sendLLMCourseEvents(events.capture());
+    assertEquals(Map.of(C1, List.of(A)), candidatesByCourse(events.getValue()));
+  }
+
+  @Test
+  void answerGivenForAnOlderProfileIsAskedAgain() {
+    FacultyInfo renamed = new FacultyInfo(A, FACULTY_A.getPreferenceSetId(), "A (before)", 1, 4.0, 10, 1);
+    when(llmDecisionService.findForCourses(any())).thenReturn(decisions(decision(renamed, COURSE_1, false)));
+    when(dispatchRepository.findOfTerm(TERM)).thenReturn(Map.of());
+
+    service.dispatch(SNAPSHOT, Set.of(C1));
+
+    verify(kafkaProducer).sendLLMCourseEvents(events.capture());
+    assertEquals(Map.of(C1, List.of(A, B)), candidatesByCourse(events.getValue()));
+  }
+
+  private static Map<UUID, List<UUID>> candidatesByCourse(List<LLMCourseEvent> events) {
+    Map<UUID, List<UUID>> candidates = new HashMap<>();
+    for (LLMCourseEvent event : events) {
+      candidates.put(event.getCourseId(), event.getCandidates().stream().map(Candidate::getFacultyId).toList());
+    }
+    return candidates;
+  }
+
+  private static Map<UUID, Dispatch> byCourse(List<Dispatch> dispatches) {
+    Map<UUID, Dispatch> byCourse = new HashMap<>();
+    dispatches.forEach(dispatch -> byCourse.put(dispatch.getCourseId(), dispatch));
+    return byCourse;
+  }
+
+  // An answer given for the faculty and course as they look in the snapshot
+  private static LLMDecision decision(FacultyInfo faculty, CourseInfo course, boolean recommended) {
+    return LLMDecisionService.toDecision(
+        Faculty.builder().id(faculty.getId()).name(faculty.getName())
+            .seniorityScore(faculty.getSeniorityScore()).rating(faculty.getRating()).build(),
+        Course.builder().id(course.getId()).code(course.getCode()).name(course.getName())
+            .hoursRequiredPerWeek(course.getHoursRequiredPerWeek()).build(),
+        recommended);
+  }
+
+  private static Map<LLMDecision.Key, LLMDecision> decisions(LLMDecision decision) {
+    return Map.of(new LLMDecision.Key(decision.getFacultyId(), decision.getCourseId()), decision);
+  }
+
+  private static CourseRepository.TaughtCourse taught(UUID facultyId, UUID courseId, int hours) {
+    return new CourseRepository.TaughtCourse() {
+      @Override
+      public UUID getFacultyId() {
+        return facultyId;
+      }
+
+      @Override
+      public UUID getCourseId() {
+        return courseId;
+      }
+
+      @Override
+      public Integer getHoursRequiredPerWeek() {
+        return hours;
+      }
+    };
+  }
+}
@@ -0,0 +1,72 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.thapar.dtltm.model.Faculty;
+import edu.thapar.dtltm.service.assignment.AssignmentLimits.Rule;
+
+class AssignmentLimitsTest {
+
+  @Test
+  void smallestRuleWinsAndDefaultsFillTheRest() {
+    AssignmentLimits limits = AssignmentLimits.compile(2, List.of(
+        new Rule(1, 3, 3, null),
+        new Rule(2, 2, 1, 10),
+        new Rule(2, 3, null, 12)));
+
+    assertEquals(3, limits.maxCourses(1));
+    assertEquals(1, limits.maxCourses(2));
+    assertEquals(3, limits.maxCourses(3));
+    assertEquals(2, limits.maxCourses(4));
+    assertEquals(20, limits.maxHours(1, 20));
+    assertEquals(10, limits.maxHours(2, 20));
+    assertEquals(12, limits.maxHours(3, 20));
+  }
+
+  @Test
+  void hoursCapNeverRaisesTheFacultysOwn() {
+    AssignmentLimits limits = AssignmentLimits.compile(2, List.of(new Rule(1, 5, null, 10)));
+
+    assertEquals(6, limits.maxHours(4, 6));
+    assertEquals(10, limits.maxHours(4, 16));
+  }
+
+  @Test
+  void seniorityOutsideTheTiersGetsTheDefaults() {
+    AssignmentLimits limits = AssignmentLimits.compile(2, List.of(new Rule(0, 9, 4, 8)));
+
+    assertEquals(4, limits.maxCourses(1));
+    assertEquals(4, limits.maxCourses(5));
+    assertEquals(2, limits.maxCourses(0));
+    assertEquals(2, limits.maxCourses(6));
+    assertEquals(8, limits.maxHours(5, 20));
+    assertEquals(20, limits.maxHours(6, 20));
+  }
+
+  // Like the snapshot: missing seniority counts as 1, missing max hours as 20
+  @Test
+  void facultyWithoutValuesGetsTheSnapshotFallbacks() {
+    AssignmentLimits limits = AssignmentLimits.compile(2, List.of(new Rule(1, 1, 1, 16)));
+    Faculty faculty = Faculty.builder().seniorityScore(null).maxHoursPerWeek(null).build();
+
+    assertEquals(1, limits.maxCourses(faculty));
+    assertEquals(16, limits.maxHours(faculty));
+  }
+
+  @Test
+  void rejectsMaxCoursesTheSolverCannotCount() {
+    assertEquals(AssignmentLimits.MAX_COURSES,
+        AssignmentLimits.compile(AssignmentLimits.MAX_COURSES, List.of()).maxCourses(1));
+    assertThrows(IllegalArgumentException.class,
+        () -> AssignmentLimits.compile(AssignmentLimits.MAX_COURSES + 1, List.of()));
+    assertThrows(IllegalArgumentException.class,
+        () -> AssignmentLimits.compile(2, List.of(new Rule(1, 5, AssignmentLimits.MAX_COURSES + 1, null))));
+    assertThrows(IllegalArgumentException.class,
+        () -> AssignmentLimits.compile(2, List.of(new Rule(1, 5, -1, null))));
+  }
+}
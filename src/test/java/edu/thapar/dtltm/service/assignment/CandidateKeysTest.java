@@ -0,0 +1,80 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+
+class CandidateKeysTest {
+
+  @Test
+  void keysPickTheSameCandidateAsTheComparison() {
+    for (long seed = 0; seed < 300; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(8, 10, seed));
+      assertNotNull(model.candidateKeys().base);
+      assertSameChoices(model, seed);
+    }
+    for (long seed = 0; seed < 10; seed++) {
+      // 20 courses ranked by 400 faculties: around a hundred candidates per course
+      SolverModel model = SolverModel.compile(SyntheticTerms.generate(400, 1, 0.05, seed));
+      assertNotNull(model.candidateKeys().base);
+      assertSameChoices(model, seed);
+    }
+  }
+
+  @Test
+  void negativeHoursFallBackToTheComparison() {
+    SolverModel model = SolverModel.compile(term(new int[] {1, 2}, new int[] {10, -1}, new int[] {1, 2}));
+
+    assertNull(model.candidateKeys().base);
+    assertSameChoices(model, 0);
+  }
+
+  @Test
+  void fieldsWiderThanALongFallBackToTheComparison() {
+    // 31 bits each for seniority and rank, plus hours
+    SolverModel model = SolverModel.compile(
+        term(new int[] {1, Integer.MAX_VALUE}, new int[] {10, 10}, new int[] {1, Integer.MAX_VALUE}));
+
+    assertNull(model.candidateKeys().base);
+    assertSameChoices(model, 0);
+  }
+
+  // Walks the greedy pass, skipping some courses so loads vary, and compares the choice of
+  // both ways at every course
+  private static void assertSameChoices(SolverModel model, long seed) {
+    Random random = new Random(seed);
+    SolverState state = model.newState();
+    for (int c : model.courseOrder) {
+      int best = GreedyAssignmentStrategy.findBestCandidate(model, state, c);
+      assertEquals(GreedyAssignmentStrategy.findBestCandidateByComparison(model, state, c), best,
+          "seed " + seed + ", course " + c);
+      if (best >= 0 && random.nextInt(4) != 0) {
+        state.assign(c, best);
+      }
+    }
+  }
+
+  // One course ranked by two faculties, rating 4.0 each
+  private static TermSnapshot term(int[] seniority, int[] maxHours, int[] ranks) {
+    UUID courseId = new UUID(1, 0);
+    List<FacultyInfo> faculties = List.of(
+        new FacultyInfo(new UUID(2, 0), new UUID(3, 0), "A", seniority[0], 4.0, maxHours[0], 2),
+        new FacultyInfo(new UUID(2, 1), new UUID(3, 1), "B", seniority[1], 4.0, maxHours[1], 2));
+    List<PreferenceInfo> preferences = List.of(
+        new PreferenceInfo(new UUID(2, 0), new UUID(3, 0), courseId, ranks[0]),
+        new PreferenceInfo(new UUID(2, 1), new UUID(3, 1), courseId, ranks[1]));
+    return new TermSnapshot(new UUID(0, 0), faculties, List.of(new CourseInfo(courseId, "C000", "Course", 3)),
+        preferences, Map.of());
+  }
+}
@@ -0,0 +1,99 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+
+class GreedyAssignmentStrategyTest {
+  private final GreedyAssignmentStrategy greedy = new GreedyAssignmentStrategy();
+
+  @Test
+  void parallelComponentsMatchOneSequentialPass() {
+    for (long seed = 0; seed < 5; seed++) {
+      SolverModel model = SolverModel.compile(SyntheticTerms.generate(2000, 8, seed));
+      assertTrue(model.components().parallel);
+
+      AssignmentPlan plan = greedy.solve(model, SolverContext.unbounded());
+
+      TestTerms.replay(model, plan);
+      assertEquals(sequentialPass(model), plan, "seed " + seed);
+    }
+  }
+
+  // Small terms run their components one by one; already linked pairs split components too
+  @Test
+  void componentsMatchOneSequentialPass() {
+    for (long seed = 0; seed < 300; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(8, 10, seed));
+
+      AssignmentPlan plan = greedy.solve(model, SolverContext.unbounded());
+
+      TestTerms.replay(model, plan);
+      assertEquals(sequentialPass(model), plan, "seed " + seed);
+    }
+  }
+
+  @Test
+  void assignsNothingWhenCancelledBeforeTheSolve() {
+    SolverModel model = SolverModel.compile(smallComponents(500));
+    assertEquals(500, model.components().count);
+    SolverContext context = SolverContext.unbounded();
+    context.cancel();
+
+    AssignmentPlan plan = greedy.solve(model, context);
+
+    assertTrue(plan.getAssignments().isEmpty());
+    assertEquals(1000, plan.getUnassignedCourseIds().size());
+  }
+
+  @Test
+  void assignsNothingWhenTheBudgetIsSpentBeforeTheSolve() {
+    SolverModel model = SolverModel.compile(smallComponents(500));
+
+    AssignmentPlan plan = greedy.solve(model, SolverContext.withBudget(Duration.ZERO));
+
+    assertTrue(plan.getAssignments().isEmpty());
+    assertEquals(1000, plan.getUnassignedCourseIds().size());
+  }
+
+  // The greedy rule as one pass over every course in greedy order, without components
+  private static AssignmentPlan sequentialPass(SolverModel model) {
+    SolverState state = model.newState();
+    for (int c : model.courseOrder) {
+      int best = GreedyAssignmentStrategy.findBestCandidateByComparison(model, state, c);
+      if (best >= 0) {
+        state.assign(c, best);
+      }
+    }
+    return model.toPlan(state);
+  }
+
+  // One faculty per component, ranking two courses nobody else ranks: far fewer than the 256
+  // courses between two checks of the flag within a component
+  private static TermSnapshot smallComponents(int count) {
+    List<FacultyInfo> faculties = new ArrayList<>(count);
+    List<CourseInfo> courses = new ArrayList<>(2 * count);
+    List<PreferenceInfo> preferences = new ArrayList<>(2 * count);
+    for (int f = 0; f < count; f++) {
+      FacultyInfo faculty = new FacultyInfo(new UUID(2, f), new UUID(3, f), "Faculty " + f, 1, 4.0, 20, 2);
+      faculties.add(faculty);
+      for (int rank = 1; rank <= 2; rank++) {
+        int c = 2 * f + rank - 1;
+        courses.add(new CourseInfo(new UUID(1, c), String.format("C%04d", c), "Course " + c, 3));
+        preferences.add(new PreferenceInfo(faculty.getId(), faculty.getPreferenceSetId(), new UUID(1, c), rank));
+      }
+    }
+    return new TermSnapshot(new UUID(0, count), faculties, courses, preferences, Map.of());
+  }
+}
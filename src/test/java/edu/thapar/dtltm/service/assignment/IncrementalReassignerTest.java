@@ -0,0 +1,154 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+
+class IncrementalReassignerTest {
+  private final GreedyAssignmentStrategy greedy = new GreedyAssignmentStrategy();
+
+  @Test
+  void unchangedTermKeepsThePlan() {
+    for (long seed = 0; seed < 200; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(8, 10, seed));
+      AssignmentPlan previous = greedy.solve(model, SolverContext.unbounded());
+
+      AssignmentDiff diff = new IncrementalReassigner(model).repair(previous, List.of(), List.of());
+
+      assertTrue(diff.isEmpty(), "seed " + seed);
+      assertEquals(previous, diff.getPlan(), "seed " + seed);
+    }
+  }
+
+  // The faculty can no longer take any course: theirs are handed out again, the rest stays
+  @Test
+  void changedFacultyOnlyReleasesTheCoursesTheyRank() {
+    for (long seed = 0; seed < 200; seed++) {
+      TermSnapshot snapshot = TestTerms.random(8, 10, seed);
+      AssignmentPlan previous = greedy.solve(SolverModel.compile(snapshot), SolverContext.unbounded());
+      FacultyInfo changed = snapshot.getFaculties().get((int) (seed % 8));
+      List<FacultyInfo> faculties = new ArrayList<>(snapshot.getFaculties());
+      faculties.set(faculties.indexOf(changed), new FacultyInfo(changed.getId(), changed.getPreferenceSetId(),
+          changed.getName(), changed.getSeniorityScore(), changed.getRating(), 0, changed.getMaxCourses()));
+      SolverModel model = SolverModel.compile(new TermSnapshot(snapshot.getTermId(), faculties,
+          snapshot.getCourses(), snapshot.getPreferences(), snapshot.getExistingTeachers()));
+      Set<UUID> ranked = new HashSet<>();
+      snapshot.getPreferences().stream()
+          .filter(p -> p.getFacultyId().equals(changed.getId()))
+          .forEach(p -> ranked.add(p.getCourseId()));
+
+      AssignmentDiff diff = new IncrementalReassigner(model).repair(previous, List.of(changed.getId()), List.of());
+
+      TestTerms.replay(model, diff.getPlan());
+      for (Assignment assignment : previous.getAssignments()) {
+        if (!ranked.contains(assignment.getCourseId())) {
+          assertTrue(diff.getPlan().getAssignments().contains(assignment), "seed " + seed + ": kept " + assignment);
+        }
+      }
+      for (Assignment assignment : diff.getPlan().getAssignments()) {
+        assertFalse(assignment.getFacultyId().equals(changed.getId()), "seed " + seed);
+      }
+    }
+  }
+
+  // B became more senior than A, who teaches the course they both rank
+  @Test
+  void changedFacultyCanTakeOverACourseTheyRank() {
+    UUID a = new UUID(2, 0);
+    UUID b = new UUID(2, 1);
+    UUID course = new UUID(1, 0);
+    List<CourseInfo> courses = List.of(new CourseInfo(course, "C000", "Course", 3));
+    List<PreferenceInfo> preferences = List.of(new PreferenceInfo(a, new UUID(3, 0), course, 1),
+        new PreferenceInfo(b, new UUID(3, 1), course, 2));
+    FacultyInfo facultyA = new FacultyInfo(a, new UUID(3, 0), "A", 3, 4.0, 10, 2);
+    SolverModel before = SolverModel.compile(new TermSnapshot(new UUID(0, 0),
+        List.of(facultyA, new FacultyInfo(b, new UUID(3, 1), "B", 4, 4.0, 10, 2)), courses, preferences, Map.of()));
+    AssignmentPlan previous = greedy.solve(before, SolverContext.unbounded());
+    SolverModel model = SolverModel.compile(new TermSnapshot(new UUID(0, 0),
+        List.of(facultyA, new FacultyInfo(b, new UUID(3, 1), "B", 1, 4.0, 10, 2)), courses, preferences, Map.of()));
+
+    AssignmentDiff diff = new IncrementalReassigner(model).repair(previous, List.of(b), List.of());
+
+    assertEquals(List.of(new Assignment(a, course, 1)), diff.getRemoved());
+    assertEquals(List.of(new Assignment(b, course, 2)), diff.getAdded());
+  }
+
+  @Test
+  void changedCourseIsHandedOutAgain() {
+    for (long seed = 0; seed < 200; seed++) {
+      TermSnapshot snapshot = TestTerms.random(8, 10, seed);
+      AssignmentPlan previous = greedy.solve(SolverModel.compile(snapshot), SolverContext.unbounded());
+      CourseInfo changed = snapshot.getCourses().get(0);
+      List<CourseInfo> courses = new ArrayList<>(snapshot.getCourses());
+      courses.set(0, new CourseInfo(changed.getId(), changed.getCode(), changed.getName(), 1));
+      SolverModel model = SolverModel.compile(new TermSnapshot(snapshot.getTermId(), snapshot.getFaculties(),
+          courses, snapshot.getPreferences(), snapshot.getExistingTeachers()));
+
+      AssignmentDiff diff = new IncrementalReassigner(model).repair(previous, List.of(), List.of(changed.getId()));
+
+      TestTerms.replay(model, diff.getPlan());
+      for (Assignment assignment : previous.getAssignments()) {
+        if (!assignment.getCourseId().equals(changed.getId())) {
+          assertTrue(diff.getPlan().getAssignments().contains(assignment), "seed " + seed + ": kept " + assignment);
+        }
+      }
+      assertEquals(AssignmentDiff.between(previous, diff.getPlan()), diff, "seed " + seed);
+    }
+  }
+
+  // Limits tightened for everyone without anyone being reported as changed
+  @Test
+  void releasesKeptCoursesThatNoLongerFit() {
+    for (long seed = 0; seed < 200; seed++) {
+      TermSnapshot snapshot = TestTerms.random(8, 10, true, seed);
+      AssignmentPlan previous = greedy.solve(SolverModel.compile(snapshot), SolverContext.unbounded());
+      List<FacultyInfo> faculties = new ArrayList<>();
+      for (FacultyInfo faculty : snapshot.getFaculties()) {
+        faculties.add(new FacultyInfo(faculty.getId(), faculty.getPreferenceSetId(), faculty.getName(),
+            faculty.getSeniorityScore(), faculty.getRating(), 6, 1));
+      }
+      SolverModel model = SolverModel.compile(new TermSnapshot(snapshot.getTermId(), faculties,
+          snapshot.getCourses(), snapshot.getPreferences(), snapshot.getExistingTeachers()));
+
+      AssignmentDiff diff = new IncrementalReassigner(model).repair(previous, List.of(), List.of());
+
+      TestTerms.replay(model, diff.getPlan());
+      assertEquals(AssignmentDiff.between(previous, diff.getPlan()), diff, "seed " + seed);
+    }
+  }
+
+  // A previous plan listing one course for two faculties keeps the first
+  @Test
+  void keepsACourseListedTwiceOnce() {
+    UUID a = new UUID(2, 0);
+    UUID b = new UUID(2, 1);
+    UUID course = new UUID(1, 0);
+    SolverModel model = SolverModel.compile(new TermSnapshot(new UUID(0, 0),
+        List.of(new FacultyInfo(a, new UUID(3, 0), "A", 3, 4.0, 10, 2),
+            new FacultyInfo(b, new UUID(3, 1), "B", 4, 4.0, 10, 2)),
+        List.of(new CourseInfo(course, "C000", "Course", 3)),
+        List.of(new PreferenceInfo(a, new UUID(3, 0), course, 1), new PreferenceInfo(b, new UUID(3, 1), course, 2)),
+        Map.of()));
+    AssignmentPlan previous = new AssignmentPlan(
+        List.of(new Assignment(b, course, 2), new Assignment(a, course, 1)), List.of());
+
+    AssignmentDiff diff = new IncrementalReassigner(model).repair(previous, List.of(), List.of());
+
+    TestTerms.replay(model, diff.getPlan());
+    assertEquals(List.of(new Assignment(b, course, 2)), diff.getPlan().getAssignments());
+  }
+}
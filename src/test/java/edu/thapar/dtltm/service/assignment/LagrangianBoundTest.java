@@ -0,0 +1,41 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LagrangianBoundTest {
+
+  @Test
+  void neverExceedsTheOptimum() {
+    for (long seed = 0; seed < 300; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(5, 7, seed));
+      long optimum = TestTerms.optimum(model);
+      AssignmentPlan greedy = new GreedyAssignmentStrategy().solve(model, SolverContext.unbounded());
+
+      long bound = LagrangianBound.of(model, model.objectiveOf(greedy));
+
+      assertTrue(bound <= optimum, "seed " + seed + ": bound " + bound + " > optimum " + optimum);
+    }
+  }
+
+  @Test
+  void neverExceedsTheObjectiveOfAnyStrategysPlan() {
+    List<AssignmentStrategy> strategies = List.of(new GreedyAssignmentStrategy(),
+        new MinCostFlowAssignmentStrategy(), new LocalSearchAssignmentStrategy());
+    for (long seed = 0; seed < 5; seed++) {
+      SolverModel model = SolverModel.compile(SyntheticTerms.generate(500, 2, seed));
+      for (AssignmentStrategy strategy : strategies) {
+        AssignmentPlan plan = strategy.solve(model, SolverContext.unbounded());
+
+        SolverContext.Optimality optimality = model.optimalityOf(plan);
+
+        String label = strategy.name() + ", seed " + seed;
+        assertTrue(optimality.getLowerBound() <= optimality.getObjective(), label);
+        assertTrue(optimality.getGap() >= 0 && optimality.getGap() <= 1, label);
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LocalSearchImproverTest {
+
+  @Test
+  void neverEndsWorseThanTheGreedyStart() {
+    for (long seed = 0; seed < 200; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(8, 10, seed));
+      assertNotWorse(model, GreedyAssignmentStrategy.assignAll(model, SolverContext.unbounded()), seed);
+    }
+  }
+
+  @Test
+  void neverEndsWorseThanARandomStart() {
+    for (long seed = 0; seed < 200; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(8, 10, seed));
+      assertNotWorse(model, randomState(model, new Random(seed)), seed);
+    }
+    SolverModel model = SolverModel.compile(SyntheticTerms.generate(300, 2, 5L));
+    assertNotWorse(model, randomState(model, new Random(5L)), 5L);
+  }
+
+  @Test
+  void returnsTheStartWhenStoppedAtOnce() {
+    SolverModel model = SolverModel.compile(SyntheticTerms.generate(300, 2, 9L));
+    SolverState start = randomState(model, new Random(9L));
+    AssignmentPlan before = model.toPlan(start);
+    SolverContext context = SolverContext.unbounded();
+    context.cancel();
+
+    SolverState improved = new LocalSearchImprover(model, context, start).improve(model.courseOrder.length);
+
+    assertEquals(before, model.toPlan(improved));
+  }
+
+  // The search keeps the plan feasible at every step, and returns the best plan it saw
+  private static void assertNotWorse(SolverModel model, SolverState start, long seed) {
+    long before = model.objectiveOf(model.toPlan(start));
+
+    SolverState improved = new LocalSearchImprover(model, SolverContext.unbounded(), start)
+        .improve(model.courseOrder.length);
+
+    AssignmentPlan plan = model.toPlan(improved);
+    TestTerms.replay(model, plan);
+    assertTrue(model.objectiveOf(plan) <= before, "seed " + seed);
+  }
+
+  // Every course goes to a random candidate with room, or stays unassigned one time in three
+  private static SolverState randomState(SolverModel model, Random random) {
+    SolverState state = model.newState();
+    for (int c : model.courseOrder) {
+      int count = model.candStart[c + 1] - model.candStart[c];
+      if (count == 0 || random.nextInt(3) == 0) {
+        continue;
+      }
+      int s = model.candStart[c] + random.nextInt(count);
+      if (state.canTake(c, s)) {
+        state.assign(c, s);
+      }
+    }
+    return state;
+  }
+}
@@ -0,0 +1,55 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MinCostFlowAssignerTest {
+  private static final int SEEDS = 300;
+
+  // Without hour limits the flow is exact: most courses assigned, then lowest total cost
+  @Test
+  void matchesBruteForceWhenOnlyCourseCountsLimit() {
+    for (long seed = 0; seed < SEEDS; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(5, 7, true, seed));
+      AssignmentPlan plan = MinCostFlowAssigner.solve(model, SolverContext.unbounded());
+
+      TestTerms.replay(model, plan);
+      assertEquals(TestTerms.optimum(model), model.objectiveOf(plan), "seed " + seed);
+    }
+  }
+
+  // Hours are repaired after the flow, so the plan is feasible but may miss the optimum. A run
+  // stopped before the repair is done must not keep what the repair would have dropped.
+  @Test
+  void staysFeasibleWhenHoursLimit() {
+    for (long seed = 0; seed < SEEDS; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(5, 7, seed));
+      AssignmentPlan plan = MinCostFlowAssigner.solve(model, SolverContext.unbounded());
+
+      TestTerms.replay(model, plan);
+      assertTrue(model.objectiveOf(plan) >= TestTerms.optimum(model), "seed " + seed);
+
+      SolverContext stopped = SolverContext.unbounded();
+      stopped.cancel();
+      TestTerms.replay(model, MinCostFlowAssigner.solve(model, stopped));
+    }
+  }
+
+  @Test
+  void solvesComponentsInParallelLikeOneByOne() {
+    SolverModel model = SolverModel.compile(SyntheticTerms.generate(2000, 8, 7L));
+    assertTrue(model.components().parallel);
+
+    AssignmentPlan plan = MinCostFlowAssigner.solve(model, SolverContext.unbounded());
+
+    TestTerms.replay(model, plan);
+    SolverComponents components = model.components();
+    SolverState state = model.newState();
+    for (int k = 0; k < components.count; k++) {
+      new MinCostFlowAssigner(model, SolverContext.unbounded(), components, k).solveInto(state);
+    }
+    assertEquals(model.toPlan(state), plan);
+  }
+}
@@ -0,0 +1,98 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+
+// The what-if variants must behave exactly like compiling the changed term from scratch
+class SolverModelTest {
+  private static final List<AssignmentStrategy> STRATEGIES =
+      List.of(new GreedyAssignmentStrategy(), new MinCostFlowAssignmentStrategy());
+  // Seniority 1-2 at most 10 hours, 3 at most 6
+  private static final AssignmentLimits LIMITS = AssignmentLimits.compile(2, List.of(
+      new AssignmentLimits.Rule(1, 2, null, 10), new AssignmentLimits.Rule(3, 3, null, 6)));
+
+  @Test
+  void withMaxHoursMatchesTheRecompiledTerm() {
+    for (long seed = 0; seed < 200; seed++) {
+      TermSnapshot snapshot = TestTerms.random(8, 10, seed);
+      Random random = new Random(seed);
+      Map<UUID, Integer> overrides = new HashMap<>();
+      for (FacultyInfo faculty : snapshot.getFaculties()) {
+        if (random.nextBoolean()) {
+          overrides.put(faculty.getId(), random.nextInt(16));
+        }
+      }
+      overrides.put(UUID.randomUUID(), 40);
+
+      List<FacultyInfo> faculties = new ArrayList<>();
+      for (FacultyInfo f : snapshot.getFaculties()) {
+        int maxHours = overrides.containsKey(f.getId())
+            ? LIMITS.maxHours(f.getSeniorityScore(), overrides.get(f.getId()))
+            : f.getMaxHoursPerWeek();
+        faculties.add(new FacultyInfo(f.getId(), f.getPreferenceSetId(), f.getName(), f.getSeniorityScore(),
+            f.getRating(), maxHours, f.getMaxCourses()));
+      }
+      SolverModel expected = SolverModel.compile(new TermSnapshot(snapshot.getTermId(), faculties,
+          snapshot.getCourses(), snapshot.getPreferences(), snapshot.getExistingTeachers()));
+
+      SolverModel model = SolverModel.compile(snapshot).withMaxHours(overrides, LIMITS);
+
+      assertArrayEquals(expected.facultyMaxHours, model.facultyMaxHours, "seed " + seed);
+      assertSamePlans(expected, model, seed);
+    }
+  }
+
+  @Test
+  void withoutCoursesMatchesTheRecompiledTerm() {
+    for (long seed = 0; seed < 200; seed++) {
+      TermSnapshot snapshot = TestTerms.random(8, 10, seed);
+      Random random = new Random(seed);
+      Set<UUID> dropped = new HashSet<>();
+      snapshot.getCourses().forEach(course -> {
+        if (random.nextInt(3) == 0) {
+          dropped.add(course.getId());
+        }
+      });
+      dropped.add(UUID.randomUUID());
+
+      SolverModel expected = SolverModel.compile(new TermSnapshot(snapshot.getTermId(), snapshot.getFaculties(),
+          snapshot.getCourses().stream().filter(c -> !dropped.contains(c.getId())).toList(),
+          snapshot.getPreferences().stream().filter(p -> !dropped.contains(p.getCourseId())).toList(),
+          snapshot.getExistingTeachers()));
+
+      SolverModel model = SolverModel.compile(snapshot).withoutCourses(dropped);
+
+      assertSamePlans(expected, model, seed);
+    }
+  }
+
+  @Test
+  void emptyOverridesKeepTheModel() {
+    SolverModel model = SolverModel.compile(TestTerms.random(8, 10, 1L));
+
+    assertSame(model, model.withMaxHours(Map.of(), LIMITS));
+    assertSame(model, model.withoutCourses(List.of()));
+  }
+
+  private static void assertSamePlans(SolverModel expected, SolverModel model, long seed) {
+    for (AssignmentStrategy strategy : STRATEGIES) {
+      AssignmentPlan plan = strategy.solve(model, SolverContext.unbounded());
+
+      assertEquals(strategy.solve(expected, SolverContext.unbounded()), plan, strategy.name() + ", seed " + seed);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package edu.thapar.dtltm.service.assignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+
+// Seeded generator for realistic-looking terms, so benchmark runs are comparable over time.
+//  - faculties and courses split evenly into departments; faculties only rank their own
+//    department's courses, so each department is its own part of the preference graph
+//  - 3 courses per faculty by default; course popularity is Zipf-like (a few core courses everyone ranks)
+//  - rank lists of 3..10 courses, most around 5
+//  - seniority skews junior (score 4-5), ratings cluster around 3.8
+//  - courses need 2-4 hours (mostly 3), faculties allow 8-20
+public final class SyntheticTerms {
+  private static final double POPULARITY_SKEW = 1.1;
+
+  private SyntheticTerms() {
+  }
+
+  public static TermSnapshot generate(int facultyCount, long seed) {
+    return generate(facultyCount, 1, seed);
+  }
+
+  public static TermSnapshot generate(int facultyCount, int departments, long seed) {
+    return generate(facultyCount, departments, 3.0, seed);
+  }
+
+  // Fewer courses per faculty = more interested faculties per course (candidate fan-out)
+  public static TermSnapshot generate(int facultyCount, int departments, double coursesPerFaculty, long seed) {
+    Random random = new Random(seed);
+    // Every department needs enough courses for the longest rank list
+    int departmentCourses = Math.max(10, (int) Math.round(facultyCount * coursesPerFaculty / departments));
+    int courseCount = departmentCourses * departments;
+
+    List<CourseInfo> courses = new ArrayList<>(courseCount);
+    for (int c = 0; c < courseCount; c++) {
+      int hours = pick(random, new int[] {2, 3, 3, 3, 3, 4});
+      courses.add(new CourseInfo(new UUID(1, c), String.format("C%05d", c), "Course " + c, hours));
+    }
+
+    double[] cumulative = zipfCumulative(departmentCourses);
+    List<FacultyInfo> faculties = new ArrayList<>(facultyCount);
+    List<PreferenceInfo> preferences = new ArrayList<>();
+    for (int f = 0; f < facultyCount; f++) {
+      UUID facultyId = new UUID(2, f);
+      UUID preferenceSetId = new UUID(3, f);
+      int seniority = pick(random, new int[] {1, 2, 2, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5});
+      double rating = Math.round(Math.max(1, Math.min(5, 3.8 + random.nextGaussian() * 0.6)) * 10) / 10.0;
+      int maxHours = pick(random, new int[] {8, 12, 12, 16, 16, 20, 20, 20});
+      faculties.add(new FacultyInfo(facultyId, preferenceSetId, "Faculty " + f, seniority, rating, maxHours,
+          AssignmentLimits.DEFAULT_MAX_COURSES));
+
+      int listLength = Math.max(3, Math.min(10, (int) Math.round(5 + random.nextGaussian() * 2)));
+      Set<Integer> ranked = new LinkedHashSet<>();
+      int firstCourse = (f % departments) * departmentCourses;
+      while (ranked.size() < listLength) {
+        ranked.add(firstCourse + sampleCourse(random, cumulative));
+      }
+      int rank = 1;
+      for (int c : ranked) {
+        preferences.add(new PreferenceInfo(facultyId, preferenceSetId, courses.get(c).getId(), rank++));
+      }
+    }
+
+    // Like the loader: only courses someone ranked, ordered by code
+    Set<UUID> rankedCourses = new LinkedHashSet<>();
+    preferences.forEach(p -> rankedCourses.add(p.getCourseId()));
+    courses.removeIf(course -> !rankedCourses.contains(course.getId()));
+
+    Map<UUID, Set<UUID>> existingTeachers = new HashMap<>();
+    return new TermSnapshot(new UUID(0, seed), List.copyOf(faculties), List.copyOf(courses),
+        List.copyOf(preferences), existingTeachers);
+  }
+
+  private static double[] zipfCumulative(int n) {
+    double[] cumulative = new double[n];
+    double total = 0;
+    for (int i = 0; i < n; i++) {
+      total += 1.0 / Math.pow(i + 1, POPULARITY_SKEW);
+      cumulative[i] = total;
+    }
+    for (int i = 0; i < n; i++) {
+      cumulative[i] /= total;
+    }
+    return cumulative;
+  }
+
+  private static int sampleCourse(Random random, double[] cumulative) {
+    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+    return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+  }
+
+  private static int pick(Random random, int[] values) {
+    return values[random.nextInt(values.length)];
+  }
+}
@@ -0,0 +1,117 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+
+// Small seeded terms where every limit matters, for checking the solvers against brute force
+// and against each other (SyntheticTerms makes the realistic, larger ones):
+//  - courses need 2-6 hours; faculties take 1-3 courses and, unless roomy, 4-12 hours
+//  - each faculty ranks 1-4 courses; seniority and ratings tie often
+//  - about one ranked pair in eight is already linked in course_faculty
+final class TestTerms {
+  private TestTerms() {
+  }
+
+  static TermSnapshot random(int facultyCount, int courseCount, long seed) {
+    return random(facultyCount, courseCount, false, seed);
+  }
+
+  // roomy: hours never limit anyone, only the number of courses does
+  static TermSnapshot random(int facultyCount, int courseCount, boolean roomy, long seed) {
+    Random random = new Random(seed);
+    List<CourseInfo> courses = new ArrayList<>(courseCount);
+    for (int c = 0; c < courseCount; c++) {
+      courses.add(new CourseInfo(new UUID(1, c), String.format("C%03d", c), "Course " + c, 2 + random.nextInt(5)));
+    }
+
+    List<FacultyInfo> faculties = new ArrayList<>(facultyCount);
+    List<PreferenceInfo> preferences = new ArrayList<>();
+    Map<UUID, Set<UUID>> teachers = new HashMap<>();
+    List<Integer> order = new ArrayList<>();
+    for (int c = 0; c < courseCount; c++) {
+      order.add(c);
+    }
+    for (int f = 0; f < facultyCount; f++) {
+      UUID facultyId = new UUID(2, f);
+      UUID preferenceSetId = new UUID(3, f);
+      int seniority = 1 + random.nextInt(5);
+      double rating = 2.5 + random.nextInt(6) * 0.5;
+      int maxHours = roomy ? 100 : 4 + random.nextInt(9);
+      faculties.add(new FacultyInfo(facultyId, preferenceSetId, "Faculty " + f, seniority, rating, maxHours,
+          1 + random.nextInt(3)));
+
+      Collections.shuffle(order, random);
+      int listLength = 1 + random.nextInt(Math.min(4, courseCount));
+      for (int rank = 1; rank <= listLength; rank++) {
+        UUID courseId = courses.get(order.get(rank - 1)).getId();
+        preferences.add(new PreferenceInfo(facultyId, preferenceSetId, courseId, rank));
+        if (random.nextInt(8) == 0) {
+          teachers.computeIfAbsent(courseId, id -> new HashSet<>()).add(facultyId);
+        }
+      }
+    }
+
+    // Like the loader: only courses someone ranked, ordered by code
+    Set<UUID> ranked = new HashSet<>();
+    preferences.forEach(p -> ranked.add(p.getCourseId()));
+    courses.removeIf(course -> !ranked.contains(course.getId()));
+
+    Map<UUID, Set<UUID>> existingTeachers = new HashMap<>();
+    teachers.forEach((courseId, ids) -> existingTeachers.put(courseId, Set.copyOf(ids)));
+    return new TermSnapshot(new UUID(0, seed), List.copyOf(faculties), List.copyOf(courses),
+        List.copyOf(preferences), Map.copyOf(existingTeachers));
+  }
+
+  // Replays a plan on a fresh state, failing unless every pair is a candidate that can take the
+  // course with what the pairs before it left; every course must be assigned or unassigned
+  static SolverState replay(SolverModel model, AssignmentPlan plan) {
+    SolverState state = model.newState();
+    for (Assignment assignment : plan.getAssignments()) {
+      int c = model.courseIndexOf(assignment.getCourseId());
+      int f = model.facultyIndexOf(assignment.getFacultyId());
+      int s = c >= 0 && f >= 0 ? model.slotOf(c, f) : -1;
+      assertTrue(s >= 0 && state.assignedSlot[c] < 0 && state.canTake(c, s), () -> "Infeasible: " + assignment);
+      state.assign(c, s);
+    }
+    assertEquals(model.courseOrder.length, plan.getAssignments().size() + plan.getUnassignedCourseIds().size(),
+        "courses in the plan");
+    return state;
+  }
+
+  // Best objective (SolverModel.objectiveOf) of any feasible plan, by trying every candidate, and
+  // none, for every course
+  static long optimum(SolverModel model) {
+    return optimum(model, model.newState(), 0, 0);
+  }
+
+  private static long optimum(SolverModel model, SolverState state, int i, long objective) {
+    if (i == model.courseOrder.length) {
+      return objective;
+    }
+    int c = model.courseOrder[i];
+    long best = optimum(model, state, i + 1, objective + model.unassignedPenalty());
+    for (int s = model.candStart[c]; s < model.candStart[c + 1]; s++) {
+      if (state.canTake(c, s)) {
+        state.assign(c, s);
+        best = Math.min(best, optimum(model, state, i + 1, objective + model.candCost[s]));
+        state.unassign(c);
+      }
+    }
+    return best;
+  }
+}
@@ -0,0 +1,67 @@
+package edu.thapar.dtltm.service.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import edu.thapar.dtltm.service.assignment.AssignmentPlan.Assignment;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.CourseInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.FacultyInfo;
+import edu.thapar.dtltm.service.assignment.TermSnapshot.PreferenceInfo;
+
+class WarmStartTest {
+  private static final UUID A = new UUID(2, 0);
+  private static final UUID B = new UUID(2, 1);
+  private static final UUID C1 = new UUID(1, 1);
+  private static final UUID C2 = new UUID(1, 2);
+  private static final UUID C3 = new UUID(1, 3);
+
+  private final GreedyAssignmentStrategy greedy = new GreedyAssignmentStrategy();
+
+  @Test
+  void keepsAWholeGreedyPlan() {
+    for (long seed = 0; seed < 200; seed++) {
+      SolverModel model = SolverModel.compile(TestTerms.random(8, 10, seed));
+      AssignmentPlan previous = greedy.solve(model, SolverContext.unbounded());
+
+      WarmStart warmStart = WarmStart.of(model, previous.getAssignments());
+
+      assertEquals(previous.getAssignments().size(), warmStart.kept(), "seed " + seed);
+      assertEquals(previous, warmStart.solve(greedy, SolverContext.unbounded()), "seed " + seed);
+    }
+  }
+
+  // A takes one course, B two; A ranks C1 and C2, B ranks C2 and C3. A already teaches C1.
+  @Test
+  void keepsOnlyPairsStillRankedThatFit() {
+    TermSnapshot snapshot = new TermSnapshot(new UUID(0, 0),
+        List.of(new FacultyInfo(A, new UUID(3, 0), "A", 1, 4.0, 10, 1),
+            new FacultyInfo(B, new UUID(3, 1), "B", 2, 4.0, 10, 2)),
+        List.of(new CourseInfo(C1, "C1", "Course 1", 3), new CourseInfo(C2, "C2", "Course 2", 3),
+            new CourseInfo(C3, "C3", "Course 3", 3)),
+        List.of(new PreferenceInfo(A, new UUID(3, 0), C1, 1), new PreferenceInfo(A, new UUID(3, 0), C2, 2),
+            new PreferenceInfo(B, new UUID(3, 1), C2, 1), new PreferenceInfo(B, new UUID(3, 1), C3, 2)),
+        Map.of(C1, Set.of(A)));
+    SolverModel model = SolverModel.compile(snapshot);
+    List<Assignment> previous = List.of(
+        new Assignment(A, C1, 1),
+        // A is full after C1
+        new Assignment(A, C2, 2),
+        // B does not rank C1, and C1 is kept already
+        new Assignment(B, C1, 1),
+        // Not part of the term
+        new Assignment(new UUID(2, 9), C3, 1));
+
+    WarmStart warmStart = WarmStart.of(model, previous);
+
+    assertEquals(1, warmStart.kept());
+    assertEquals(new AssignmentPlan(
+            List.of(new Assignment(A, C1, 1), new Assignment(B, C2, 1), new Assignment(B, C3, 2)), List.of()),
+        warmStart.solve(greedy, SolverContext.unbounded()));
+  }
+}